@@ -0,0 +1,140 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.javascript.jscomp;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.collect.ImmutableList;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/** The inputs that benchmarks compile. Every corpus is the same from one run to the next. */
+public enum BenchmarkCorpus {
+  /**
+   * Generated Closure-style code: typed constructors, prototype methods, loops, namespaces and
+   * object literals, with constant expressions to fold and unused functions to remove.
+   */
+  SYNTHETIC {
+    @Override
+    ImmutableList<SourceFile> load() {
+      Random random = new Random(SYNTHETIC_SEED);
+      ImmutableList.Builder<SourceFile> files = ImmutableList.builder();
+      for (int i = 0; i < SYNTHETIC_FILE_COUNT; i++) {
+        files.add(SourceFile.fromCode("synthetic" + i + ".js", generateFile(i, random)));
+      }
+      return files.build();
+    }
+  },
+
+  /**
+   * The compiler's own checked-in runtime libraries: hand-written, fully typed code that exercises
+   * a wide range of language features.
+   *
+   * <p>Read from {@code src/com/google/javascript/jscomp/js} relative to the working directory,
+   * which can be overridden with the {@code jscomp.benchmarks.runtimeLibsDir} system property.
+   */
+  RUNTIME_LIBS {
+    @Override
+    ImmutableList<SourceFile> load() {
+      Path dir =
+          Path.of(
+              System.getProperty(
+                  "jscomp.benchmarks.runtimeLibsDir", "src/com/google/javascript/jscomp/js"));
+      try (Stream<Path> paths = Files.walk(dir)) {
+        return paths
+            .filter(path -> path.toString().endsWith(".js"))
+            .filter(path -> !path.endsWith("build_polyfill_table.js"))
+            .sorted()
+            .map(path -> SourceFile.fromPath(path, UTF_8))
+            .collect(ImmutableList.toImmutableList());
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  };
+
+  private static final long SYNTHETIC_SEED = 20260101L;
+  private static final int SYNTHETIC_FILE_COUNT = 100;
+  private static final int SYNTHETIC_MAX_CLASSES_PER_FILE = 20;
+
+  /** Returns the files of this corpus. */
+  abstract ImmutableList<SourceFile> load();
+
+  private static String generateFile(int fileIndex, Random random) {
+    String ns = "ns" + fileIndex;
+    StringBuilder sb = new StringBuilder();
+    sb.append("/** @const */ var ").append(ns).append(" = {};\n");
+    int classCount = 1 + random.nextInt(SYNTHETIC_MAX_CLASSES_PER_FILE);
+    for (int i = 0; i < classCount; i++) {
+      String point = ns + ".Point" + i;
+      sb.append("/**\n * @constructor\n * @param {number} x\n */\n")
+          .append(point)
+          .append(" = function(x) {\n  /** @type {number} */\n  this.x = x;\n};\n");
+      sb.append("/**\n * @param {number} d\n * @return {number}\n */\n")
+          .append(point)
+          .append(".prototype.scale = function(d) {\n  return this.x * d + (")
+          .append(random.nextInt(100))
+          .append(" + ")
+          .append(random.nextInt(100))
+          .append(");\n};\n");
+      sb.append("/**\n * @param {!Array<number>} xs\n * @return {number}\n */\n")
+          .append(ns)
+          .append(".sum")
+          .append(i)
+          .append(" = function(xs) {\n")
+          .append("  var total = 0;\n")
+          .append("  for (var j = 0; j < xs.length; j++) {\n")
+          .append("    if (xs[j] > 0 && true) {\n      total += xs[j];\n    }\n  }\n")
+          .append("  return total;\n};\n");
+      sb.append("/** @param {string} a @return {string} */\nfunction unused")
+          .append(fileIndex)
+          .append('_')
+          .append(i)
+          .append("(a) {\n  return a + 'unused';\n}\n");
+      sb.append(ns)
+          .append(".config")
+          .append(i)
+          .append(" = {name: 'item")
+          .append(i)
+          .append("', enabled: !0, size: ")
+          .append(random.nextInt(1000))
+          .append("};\n");
+      sb.append("/** @return {number} */\n")
+          .append(ns)
+          .append(".main")
+          .append(i)
+          .append(" = function() {\n  var p = new ")
+          .append(point)
+          .append('(')
+          .append(random.nextInt(1000))
+          .append(");\n  return p.scale(2) + ")
+          .append(ns)
+          .append(".sum")
+          .append(i)
+          .append("([1, 2, 3]) + ")
+          .append(ns)
+          .append(".config")
+          .append(i)
+          .append(".size;\n};\n");
+    }
+    sb.append("alert(").append(ns).append(".main0());\n");
+    return sb.toString();
+  }
+}
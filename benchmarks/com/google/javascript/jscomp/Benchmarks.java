@@ -0,0 +1,62 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.javascript.jscomp;
+
+import com.google.common.collect.ImmutableList;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/** Shared setup for the compiler benchmarks. */
+final class Benchmarks {
+
+  /** Returns options for a compilation whose diagnostics are ignored. */
+  static CompilerOptions newOptions() {
+    CompilerOptions options = new CompilerOptions();
+    options.setWarningLevel(DiagnosticGroups.CHECK_VARIABLES, CheckLevel.OFF);
+    return options;
+  }
+
+  /** Returns a compiler that doesn't print anything. */
+  static Compiler newCompiler(CompilerOptions options) {
+    Compiler compiler = new Compiler(new PrintStream(OutputStream.nullOutputStream()));
+    compiler.initOptions(options);
+    return compiler;
+  }
+
+  /** Returns the externs for a browser environment. */
+  static ImmutableList<SourceFile> browserExterns() {
+    try {
+      return ImmutableList.copyOf(
+          AbstractCommandLineRunner.getBuiltinExterns(CompilerOptions.Environment.BROWSER));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** Returns a compiler that has parsed {@code externs} and {@code inputs}. */
+  static Compiler parse(
+      CompilerOptions options, List<SourceFile> externs, List<SourceFile> inputs) {
+    Compiler compiler = new Compiler(new PrintStream(OutputStream.nullOutputStream()));
+    compiler.init(externs, inputs, options);
+    compiler.parse();
+    return compiler;
+  }
+
+  private Benchmarks() {}
+}
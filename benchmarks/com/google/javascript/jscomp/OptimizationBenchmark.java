@@ -0,0 +1,104 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.javascript.jscomp;
+
+import com.google.common.collect.ImmutableList;
+import com.google.javascript.jscomp.CompilerOptions.PropertyCollapseLevel;
+import com.google.javascript.jscomp.deps.ModuleLoader.ResolutionMode;
+import com.google.javascript.rhino.Node;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Measures single runs of optimization passes over a normalized AST. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class OptimizationBenchmark {
+
+  @Param({"SYNTHETIC", "RUNTIME_LIBS"})
+  public BenchmarkCorpus corpus;
+
+  private ImmutableList<SourceFile> externs;
+  private ImmutableList<SourceFile> inputs;
+  private Compiler compiler;
+  private Node externsRoot;
+  private Node jsRoot;
+
+  @Setup(Level.Trial)
+  public void loadInputs() {
+    externs = Benchmarks.browserExterns();
+    inputs = corpus.load();
+  }
+
+  /** The passes modify the AST, so every invocation needs a freshly parsed one. */
+  @Setup(Level.Invocation)
+  public void parseAndNormalize() {
+    CompilerOptions options = Benchmarks.newOptions();
+    CompilationLevel.ADVANCED_OPTIMIZATIONS.setOptionsForCompilationLevel(options);
+    compiler = Benchmarks.parse(options, externs, inputs);
+    externsRoot = compiler.getExternsRoot();
+    jsRoot = compiler.getJsRoot();
+    // Declares undefined names in the synthetic externs, as the optimizations expect.
+    new VarCheck(compiler).process(externsRoot, jsRoot);
+    new GatherExternProperties(compiler, GatherExternProperties.Mode.OPTIMIZE)
+        .process(externsRoot, jsRoot);
+    new GatherGetterAndSetterProperties(compiler).process(externsRoot, jsRoot);
+    Normalize.builder(compiler).build().process(externsRoot, jsRoot);
+  }
+
+  @Benchmark
+  public void peepholeOptimizations() {
+    DefaultPassConfig.createPeepholeOptimizationsPass(
+            compiler, PassNames.PEEPHOLE_OPTIMIZATIONS)
+        .process(externsRoot, jsRoot);
+  }
+
+  @Benchmark
+  public void removeUnusedCode() {
+    new RemoveUnusedCode.Builder(compiler)
+        .removeLocalVars(true)
+        .removeGlobals(true)
+        .removeUnusedPrototypeProperties(true)
+        .build()
+        .process(externsRoot, jsRoot);
+  }
+
+  @Benchmark
+  public void inlineAndCollapseProperties() {
+    InlineAndCollapseProperties.builder(compiler)
+        .setPropertyCollapseLevel(PropertyCollapseLevel.ALL)
+        .setChunkOutputType(CompilerOptions.ChunkOutputType.GLOBAL_NAMESPACE)
+        .setHaveModulesBeenRewritten(false)
+        .setModuleResolutionMode(ResolutionMode.BROWSER)
+        .setAssumeStaticInheritanceIsNotUsed(true)
+        .build()
+        .process(externsRoot, jsRoot);
+  }
+}
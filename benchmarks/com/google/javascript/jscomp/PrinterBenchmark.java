@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.javascript.jscomp;
+
+import com.google.common.collect.ImmutableList;
+import com.google.javascript.rhino.Node;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Measures printing code with CodePrinter and serializing source maps with V3 generator. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class PrinterBenchmark {
+
+  @Param({"SYNTHETIC", "RUNTIME_LIBS"})
+  public BenchmarkCorpus corpus;
+
+  private CompilerOptions options;
+  private Node jsRoot;
+  private List<SourceMap.Mapping> mappings;
+
+  @Setup
+  public void setUp() {
+    options = Benchmarks.newOptions();
+    options.setSourceMapOutputPath("out.js.map");
+    Compiler compiler = Benchmarks.parse(options, ImmutableList.of(), corpus.load());
+    jsRoot = compiler.getJsRoot();
+    mappings =
+        new CodePrinter.Builder(jsRoot)
+            .setCompilerOptions(options)
+            .buildWithSourceMappings()
+            .mappings;
+  }
+
+  @Benchmark
+  public String printCode() {
+    return new CodePrinter.Builder(jsRoot).setCompilerOptions(options).build();
+  }
+
+  @Benchmark
+  public String generateSourceMap() throws IOException {
+    SourceMap sourceMap = SourceMap.Format.V3.getInstance();
+    for (SourceMap.Mapping mapping : mappings) {
+      sourceMap.addMapping(mapping);
+    }
+    StringBuilder out = new StringBuilder();
+    sourceMap.appendTo(out, "out.js");
+    return out.toString();
+  }
+}
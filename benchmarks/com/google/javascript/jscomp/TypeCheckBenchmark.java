@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.javascript.jscomp;
+
+import com.google.common.collect.ImmutableList;
+import com.google.javascript.jscomp.deps.ModuleLoader.ResolutionMode;
+import com.google.javascript.jscomp.modules.ModuleMapCreator;
+import com.google.javascript.rhino.Node;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Measures building the typed scopes with TypedScopeCreator and running TypeInference. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class TypeCheckBenchmark {
+
+  @Param({"SYNTHETIC", "RUNTIME_LIBS"})
+  public BenchmarkCorpus corpus;
+
+  private ImmutableList<SourceFile> externs;
+  private ImmutableList<SourceFile> inputs;
+  private Compiler compiler;
+
+  @Setup(Level.Trial)
+  public void loadInputs() {
+    externs = Benchmarks.browserExterns();
+    inputs = corpus.load();
+  }
+
+  /** Type inference annotates the AST, so every invocation needs a freshly parsed one. */
+  @Setup(Level.Invocation)
+  public void parse() {
+    CompilerOptions options = Benchmarks.newOptions();
+    options.setCheckTypes(true);
+    compiler = Benchmarks.parse(options, externs, inputs);
+    Node externsRoot = compiler.getExternsRoot();
+    Node jsRoot = compiler.getJsRoot();
+    new GatherModuleMetadata(compiler, false, ResolutionMode.BROWSER).process(externsRoot, jsRoot);
+    new ModuleMapCreator(compiler, compiler.getModuleMetadataMap()).process(externsRoot, jsRoot);
+    new InferConsts(compiler).process(externsRoot, jsRoot);
+  }
+
+  @Benchmark
+  public TypedScope inferTypes() {
+    TypedScopeCreator scopeCreator = new TypedScopeCreator(compiler);
+    return new TypeInferencePass(compiler, compiler.getReverseAbstractInterpreter(), scopeCreator)
+        .inferAllScopes(compiler.getRoot());
+  }
+}
@@ -192,6 +192,8 @@ public abstract class AbstractCommandLineRunner<A extends Compiler, B extends Co
 
   private final List<JsonFileSpec> filesToStreamOut = new ArrayList<>();
 
+  private @Nullable ParsedAstCache parsedAstCache = null;
+
   AbstractCommandLineRunner() {
     this(System.in, System.out, System.err);
   }
@@ -240,6 +242,14 @@ public abstract class AbstractCommandLineRunner<A extends Compiler, B extends Co
     this.exitCodeReceiver = checkNotNull(newExitCodeReceiver);
   }
 
+  /**
+   * Sets a cache of parse results shared with other runs, so that inputs that haven't changed since
+   * a previous run aren't parsed again.
+   */
+  public void setParsedAstCache(@Nullable ParsedAstCache parsedAstCache) {
+    this.parsedAstCache = parsedAstCache;
+  }
+
   /** Returns whether we're in test mode. */
   protected boolean isInTestMode() {
     return testMode;
@@ -462,41 +472,65 @@ public abstract class AbstractCommandLineRunner<A extends Compiler, B extends Co
     return compiler;
   }
 
+  /**
+   * The decompressed contents of externs.zip, keyed by entry name.
+   *
+   * <p>Loaded once per JVM so that repeated compilations, e.g. through {@link CompileServer}, don't
+   * pay for reading and inflating the zip on every run.
+   */
+  private static volatile @Nullable ImmutableMap<String, String> externsZipContents = null;
+
+  private static ImmutableMap<String, String> getExternsZipContents() throws IOException {
+    ImmutableMap<String, String> contents = externsZipContents;
+    if (contents == null) {
+      synchronized (AbstractCommandLineRunner.class) {
+        contents = externsZipContents;
+        if (contents == null) {
+          ImmutableMap.Builder<String, String> builder = ImmutableMap.builder();
+          try (InputStream input = getExternsInput()) {
+            ZipInputStream zip = new ZipInputStream(input);
+            for (ZipEntry entry = null; (entry = zip.getNextEntry()) != null; ) {
+              builder.put(entry.getName(), new String(ByteStreams.toByteArray(zip), UTF_8));
+            }
+          }
+          contents = builder.buildOrThrow();
+          externsZipContents = contents;
+        }
+      }
+    }
+    return contents;
+  }
+
   /**
    * @return a mutable list
    */
   public static List<SourceFile> getBuiltinExterns(CompilerOptions.Environment env)
       throws IOException {
-    try (InputStream input = getExternsInput()) {
-      ZipInputStream zip = new ZipInputStream(input);
-      String envPrefix = Ascii.toLowerCase(env.toString()) + "/";
-      Map<String, SourceFile> mapFromExternsZip = new LinkedHashMap<>();
-      for (ZipEntry entry = null; (entry = zip.getNextEntry()) != null; ) {
-        String filename = entry.getName();
-
-        // Always load externs in the root folder.
-        // If the non-core-JS externs are organized in subfolders, only load
-        // the ones in a subfolder matching the specified environment. Strip the subfolder.
-        if (filename.contains("/")) {
-          if (!filename.startsWith(envPrefix)) {
-            continue;
-          }
-          filename = filename.substring(envPrefix.length()); // remove envPrefix, including '/'
+    String envPrefix = Ascii.toLowerCase(env.toString()) + "/";
+    Map<String, SourceFile> mapFromExternsZip = new LinkedHashMap<>();
+    for (Map.Entry<String, String> entry : getExternsZipContents().entrySet()) {
+      String filename = entry.getKey();
+
+      // Always load externs in the root folder.
+      // If the non-core-JS externs are organized in subfolders, only load
+      // the ones in a subfolder matching the specified environment. Strip the subfolder.
+      if (filename.contains("/")) {
+        if (!filename.startsWith(envPrefix)) {
+          continue;
         }
-
-        BufferedInputStream entryStream =
-            new BufferedInputStream(ByteStreams.limit(zip, entry.getSize()));
-        mapFromExternsZip.put(
-            filename,
-            // Give the files an odd prefix, so that they do not conflict
-            // with the user's files.
-            SourceFile.builder()
-                .withPath("externs.zip//" + filename)
-                .withContent(entryStream)
-                .build());
+        filename = filename.substring(envPrefix.length()); // remove envPrefix, including '/'
       }
-      return DefaultExterns.prepareExterns(env, mapFromExternsZip);
+
+      mapFromExternsZip.put(
+          filename,
+          // Give the files an odd prefix, so that they do not conflict
+          // with the user's files.
+          SourceFile.builder()
+              .withPath("externs.zip//" + filename)
+              .withContent(entry.getValue())
+              .build());
     }
+    return DefaultExterns.prepareExterns(env, mapFromExternsZip);
   }
 
   /**
@@ -638,6 +672,7 @@ public abstract class AbstractCommandLineRunner<A extends Compiler, B extends Co
                 .withPath(filename)
                 .withCharset(inputCharset)
                 .withKind(kind)
+                .withMemoryMapping(config.memoryMappedInputs)
                 .build();
         inputs.add(newFile);
       } else {
@@ -1048,8 +1083,30 @@ public abstract class AbstractCommandLineRunner<A extends Compiler, B extends Co
     }
     checkState(compiler.getOptions().outputJs == OutputJs.NORMAL);
 
-    String code = chunk == null ? compiler.toSource() : compiler.toSource(licenseTracker, chunk);
-    writeOutput(out, compiler, code, wrapper, codePlaceholder, escaper, filename);
+    if (escaper != null) {
+      // The escaper works on the code as a whole.
+      String code = chunk == null ? compiler.toSource() : compiler.toSource(licenseTracker, chunk);
+      writeOutput(out, compiler, code, wrapper, codePlaceholder, escaper, filename);
+      return;
+    }
+
+    // Stream the code straight to the output rather than building it up as a string first, since
+    // chunks can be very large.
+    int pos = wrapper.indexOf(codePlaceholder);
+    String prefix = pos == -1 ? "" : wrapper.substring(0, pos);
+    out.append(prefix);
+    compiler.toSource(out, licenseTracker, chunk);
+    if (pos != -1) {
+      out.append(wrapper.substring(pos + codePlaceholder.length()));
+    }
+    // Make sure we always end output with a line feed.
+    out.append('\n');
+
+    // If we have a source map, adjust its offsets to match
+    // the code WITHIN the wrapper.
+    if (pos != -1 && compiler.getSourceMap() != null) {
+      compiler.getSourceMap().setWrapperPrefix(prefix);
+    }
   }
 
   /**
@@ -1142,6 +1199,7 @@ public abstract class AbstractCommandLineRunner<A extends Compiler, B extends Co
     Compiler.setLoggingLevel(Level.parse(config.loggingLevel));
 
     compiler = createCompiler();
+    compiler.setParsedAstCache(parsedAstCache);
     B options = createOptions();
     setRunOptions(options);
 
@@ -2454,6 +2512,15 @@ public abstract class AbstractCommandLineRunner<A extends Compiler, B extends Co
       return this;
     }
 
+    private boolean memoryMappedInputs = false;
+
+    /** Whether to read input files through a memory mapping. */
+    @CanIgnoreReturnValue
+    public CommandLineConfig setMemoryMappedInputs(boolean memoryMappedInputs) {
+      this.memoryMappedInputs = memoryMappedInputs;
+      return this;
+    }
+
     private String jsOutputFile = "";
 
     /** Primary output filename. If not specified, output is written to stdout */
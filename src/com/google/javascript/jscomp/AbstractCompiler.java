@@ -50,6 +50,7 @@ import java.util.Collection;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Supplier;
 import org.jspecify.annotations.Nullable;
 
@@ -285,6 +286,31 @@ public abstract class AbstractCompiler implements SourceExcerptProvider, Compile
    */
   abstract boolean preferRegexParser();
 
+  /** Returns the cache of parse results shared with other compilations, if any. */
+  abstract @Nullable ParsedAstCache getParsedAstCache();
+
+  /** Returns the cache of control flow graphs shared between passes, if enabled. */
+  abstract @Nullable ControlFlowGraphCache getControlFlowGraphCache();
+
+  /** Returns the counters of flow scope joins done by type inference. */
+  abstract LinkedFlowScope.JoinStatistics getFlowScopeJoinStatistics();
+
+  /**
+   * Runs {@code task}, collecting the diagnostics it reports on the current thread instead of
+   * reporting them.
+   *
+   * <p>This lets parts of a pass run concurrently while their diagnostics are still reported in a
+   * deterministic order afterwards.
+   */
+  abstract ImmutableList<JSError> collectDiagnostics(Runnable task);
+
+  /**
+   * Returns the thread pool that passes use to split their work across {@link
+   * CompilerOptions#numParallelThreads} threads. The pool lives as long as the compilation, so
+   * passes must not shut it down.
+   */
+  public abstract ExecutorService getParallelExecutor();
+
   /** Gets a default error reporter for injecting into Rhino. */
   abstract ErrorReporter getDefaultErrorReporter();
 
@@ -0,0 +1,306 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import com.google.javascript.jscomp.ControlFlowGraph.Branch;
+import com.google.javascript.jscomp.DataFlowAnalysis.LinearFlowState;
+import com.google.javascript.jscomp.graph.DiGraph.DiGraphEdge;
+import com.google.javascript.jscomp.graph.DiGraph.DiGraphNode;
+import com.google.javascript.jscomp.graph.LatticeElement;
+import java.nio.LongBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * A specialization of {@link DataFlowAnalysis} for gen/kill problems whose lattice is a set of
+ * small integers joined by union, such as the set of live variables.
+ *
+ * <p>The generic framework recomputes a node's transfer function, and allocates new lattice
+ * elements, every time the node is visited. Here, the GEN and KILL sets of every node are computed
+ * once, and the fixed-point is found over flat {@code long[]} bit vectors, updated in place, with
+ * the nodes numbered in reverse post-order and looked up by their priority, which {@link
+ * ControlFlowAnalysis} sets on every node. Lattice elements are only created at the end, to
+ * annotate the graph in the same form as {@link DataFlowAnalysis} does, so that clients can read
+ * the results the same way.
+ *
+ * <p>Only {@link LiveVariablesAnalysis} uses this so far. {@link MustBeReachingVariableDef} is not
+ * a gen/kill problem: its lattice maps each variable to a single definition, and two different
+ * definitions join to an unknown one rather than to their union. {@link MaybeReachingVariableUse}
+ * is one, over the set of use sites, but the sites are only found by its transfer function, so it
+ * would first need a pass that numbers them, and it stays on {@link DataFlowAnalysis} until then.
+ *
+ * @param <N> The control flow graph's node value type.
+ * @param <L> Lattice element type used to annotate the results.
+ */
+abstract class BitVectorDataFlowAnalysis<N, L extends LatticeElement> {
+
+  private final ControlFlowGraph<N> cfg;
+
+  BitVectorDataFlowAnalysis(ControlFlowGraph<N> cfg) {
+    this.cfg = cfg;
+  }
+
+  final ControlFlowGraph<N> getCfg() {
+    return cfg;
+  }
+
+  /** Whether the analysis is a forward flow analysis. */
+  abstract boolean isForward();
+
+  /** Returns the number of elements in the universe of the sets. */
+  abstract int getBitCount();
+
+  /**
+   * Computes the elements that the instruction at {@code node} adds to and removes from the flowing
+   * set.
+   *
+   * <p>This is called once for every node, in an unspecified order, before the fixed-point is
+   * computed. If it changes any state that affects its results, it should also change {@link
+   * #getGenKillStateVersion}, and every node is computed again.
+   *
+   * @param conditional whether the node can end abruptly by an exception, in which case its kills
+   *     may not happen.
+   */
+  abstract void computeGenKillForNode(N node, boolean conditional, BitSet gen, BitSet kill);
+
+  /** Returns a value that changes whenever the state {@link #computeGenKillForNode} reads does. */
+  int getGenKillStateVersion() {
+    return 0;
+  }
+
+  /** Creates the lattice element annotated onto the graph for {@code bits}. */
+  abstract L createLattice(BitSet bits);
+
+  /**
+   * Finds the fixed-point solution and annotates every node of the graph with a {@link
+   * LinearFlowState} that holds it.
+   */
+  final void analyze() {
+    DiGraphNode<N, Branch> implicitReturn = cfg.getImplicitReturn();
+    List<DiGraphNode<N, Branch>> byPriority = new ArrayList<>(cfg.getNodes());
+    byPriority.sort(Comparator.comparingInt(DiGraphNode::getPriority));
+
+    // The position of each node in the order below, by node priority, or -1 for the implicit
+    // return, which is handled separately.
+    int[] indices = new int[byPriority.get(byPriority.size() - 1).getPriority() + 1];
+    List<DiGraphNode<N, Branch>> nodes = reversePostOrder(byPriority, implicitReturn);
+    Arrays.fill(indices, -1);
+    for (int i = 0; i < nodes.size(); i++) {
+      indices[nodes.get(i).getPriority()] = i;
+    }
+
+    int nodeCount = nodes.size();
+    int words = (getBitCount() + 63) >>> 6;
+
+    // The nodes whose leaving states flow into each node, and the nodes that consume each node's
+    // leaving state.
+    int[][] inputs = new int[nodeCount][];
+    int[][] dependents = new int[nodeCount][];
+    for (int i = 0; i < nodeCount; i++) {
+      DiGraphNode<N, Branch> node = nodes.get(i);
+      if (isForward()) {
+        // The entry node starts from the empty boundary state, whatever its predecessors are.
+        inputs[i] =
+            node == cfg.getEntry() ? new int[0] : sourceIndices(node.getInEdges(), indices);
+        dependents[i] = destinationIndices(node.getOutEdges(), indices);
+      } else {
+        inputs[i] = destinationIndices(node.getOutEdges(), indices);
+        dependents[i] = sourceIndices(node.getInEdges(), indices);
+      }
+    }
+
+    long[] gen = new long[nodeCount * words];
+    long[] kill = new long[nodeCount * words];
+    int genKillStateVersion;
+    do {
+      genKillStateVersion = getGenKillStateVersion();
+      computeAllGenKill(nodes, words, gen, kill);
+    } while (genKillStateVersion != getGenKillStateVersion());
+
+    // The state on the side of each node that flow enters from, and the side that it leaves from.
+    long[] entering = new long[nodeCount * words];
+    long[] leaving = new long[nodeCount * words];
+    BitSet pending = new BitSet(nodeCount);
+    pending.set(0, nodeCount);
+    for (int i = pending.nextSetBit(0); i >= 0; i = pending.nextSetBit(0)) {
+      pending.clear(i);
+      int base = i * words;
+
+      for (int input : inputs[i]) {
+        int inputBase = input * words;
+        for (int w = 0; w < words; w++) {
+          entering[base + w] |= leaving[inputBase + w];
+        }
+      }
+
+      boolean changed = false;
+      for (int w = 0; w < words; w++) {
+        long before = leaving[base + w];
+        long after = gen[base + w] | (entering[base + w] & ~kill[base + w]);
+        if (after != before) {
+          leaving[base + w] = after;
+          changed = true;
+        }
+      }
+
+      if (changed) {
+        for (int dependent : dependents[i]) {
+          pending.set(dependent);
+        }
+      }
+    }
+
+    for (int i = 0; i < nodeCount; i++) {
+      L enteringLattice = createLattice(bitsAt(entering, i, words));
+      L leavingLattice = createLattice(bitsAt(leaving, i, words));
+      nodes
+          .get(i)
+          .setAnnotation(
+              isForward()
+                  ? new LinearFlowState<>(enteringLattice, leavingLattice)
+                  : new LinearFlowState<>(leavingLattice, enteringLattice));
+    }
+
+    BitSet returnBits = new BitSet();
+    if (isForward()) {
+      for (DiGraphEdge<N, Branch> edge : implicitReturn.getInEdges()) {
+        returnBits.or(bitsAt(leaving, indices[edge.getSource().getPriority()], words));
+      }
+    }
+    implicitReturn.setAnnotation(
+        new LinearFlowState<>(createLattice(returnBits), createLattice(new BitSet())));
+  }
+
+  /**
+   * Returns every node but the implicit return in reverse post-order of a depth-first search in the
+   * direction of flow, so that a node's inputs are usually settled before it is visited.
+   *
+   * <p>The search starts at the entry of a forward analysis, and at the predecessors of the
+   * implicit return of a backward one. Nodes it doesn't reach, such as dead code, or the ends of
+   * infinite loops in a backward analysis, are searched from next in priority order.
+   */
+  private List<DiGraphNode<N, Branch>> reversePostOrder(
+      List<DiGraphNode<N, Branch>> byPriority, DiGraphNode<N, Branch> implicitReturn) {
+    int slots = byPriority.get(byPriority.size() - 1).getPriority() + 1;
+    boolean[] reached = new boolean[slots];
+    // The next edge to follow out of each node on the stack, by node priority.
+    int[] nextEdge = new int[slots];
+    reached[implicitReturn.getPriority()] = true;
+
+    List<DiGraphNode<N, Branch>> roots = new ArrayList<>();
+    if (isForward()) {
+      roots.add(cfg.getEntry());
+    } else {
+      for (DiGraphEdge<N, Branch> edge : implicitReturn.getInEdges()) {
+        roots.add(edge.getSource());
+      }
+    }
+    roots.addAll(byPriority);
+
+    List<DiGraphNode<N, Branch>> order = new ArrayList<>(byPriority.size() - 1);
+    Deque<DiGraphNode<N, Branch>> stack = new ArrayDeque<>();
+    for (DiGraphNode<N, Branch> root : roots) {
+      if (reached[root.getPriority()]) {
+        continue;
+      }
+      int treeStart = order.size();
+      reached[root.getPriority()] = true;
+      stack.push(root);
+      while (!stack.isEmpty()) {
+        DiGraphNode<N, Branch> node = stack.peek();
+        List<? extends DiGraphEdge<N, Branch>> edges =
+            isForward() ? node.getOutEdges() : node.getInEdges();
+        int slot = node.getPriority();
+        if (nextEdge[slot] < edges.size()) {
+          DiGraphEdge<N, Branch> edge = edges.get(nextEdge[slot]++);
+          DiGraphNode<N, Branch> next = isForward() ? edge.getDestination() : edge.getSource();
+          if (!reached[next.getPriority()]) {
+            reached[next.getPriority()] = true;
+            stack.push(next);
+          }
+        } else {
+          stack.pop();
+          order.add(node);
+        }
+      }
+      // Each search tree is reversed on its own, so that the trees stay in the order searched.
+      Collections.reverse(order.subList(treeStart, order.size()));
+    }
+    return order;
+  }
+
+  private void computeAllGenKill(
+      List<DiGraphNode<N, Branch>> nodes, int words, long[] gen, long[] kill) {
+    int bitCount = getBitCount();
+    Arrays.fill(gen, 0);
+    Arrays.fill(kill, 0);
+    for (int i = 0; i < nodes.size(); i++) {
+      DiGraphNode<N, Branch> node = nodes.get(i);
+      // Make kills conditional if the node can end abruptly by an exception.
+      boolean conditional = false;
+      for (DiGraphEdge<N, Branch> edge : node.getOutEdges()) {
+        if (Branch.ON_EX.equals(edge.getValue())) {
+          conditional = true;
+        }
+      }
+      BitSet nodeGen = new BitSet(bitCount);
+      BitSet nodeKill = new BitSet(bitCount);
+      computeGenKillForNode(node.getValue(), conditional, nodeGen, nodeKill);
+      copyInto(nodeGen, gen, i * words, words);
+      copyInto(nodeKill, kill, i * words, words);
+    }
+  }
+
+  private static <N> int[] sourceIndices(
+      List<? extends DiGraphEdge<N, Branch>> edges, int[] indices) {
+    int[] result = new int[edges.size()];
+    for (int i = 0; i < result.length; i++) {
+      // The implicit return is never the source of an edge.
+      result[i] = indices[edges.get(i).getSource().getPriority()];
+    }
+    return result;
+  }
+
+  private static <N> int[] destinationIndices(
+      List<? extends DiGraphEdge<N, Branch>> edges, int[] indices) {
+    int[] result = new int[edges.size()];
+    int count = 0;
+    for (DiGraphEdge<N, Branch> edge : edges) {
+      // Edges to the implicit return contribute the empty boundary state.
+      int index = indices[edge.getDestination().getPriority()];
+      if (index >= 0) {
+        result[count++] = index;
+      }
+    }
+    return count == result.length ? result : Arrays.copyOf(result, count);
+  }
+
+  private static void copyInto(BitSet bits, long[] target, int base, int words) {
+    long[] source = bits.toLongArray();
+    System.arraycopy(source, 0, target, base, Math.min(source.length, words));
+  }
+
+  private static BitSet bitsAt(long[] bits, int index, int words) {
+    return BitSet.valueOf(LongBuffer.wrap(bits, index * words, words));
+  }
+}
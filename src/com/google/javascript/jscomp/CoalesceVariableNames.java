@@ -21,17 +21,18 @@ import static com.google.common.base.Preconditions.checkState;
 import static java.util.Comparator.comparingInt;
 
 import com.google.common.base.Joiner;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
 import com.google.javascript.jscomp.AbstractCompiler.LifeCycleStage;
 import com.google.javascript.jscomp.ControlFlowGraph.Branch;
 import com.google.javascript.jscomp.DataFlowAnalysis.LinearFlowState;
 import com.google.javascript.jscomp.LiveVariablesAnalysis.LiveVariableLattice;
 import com.google.javascript.jscomp.NodeUtil.AllVarsDeclaredInFunction;
+import com.google.javascript.jscomp.graph.BitMatrixGraph;
 import com.google.javascript.jscomp.graph.DiGraph.DiGraphNode;
 import com.google.javascript.jscomp.graph.GraphColoring;
 import com.google.javascript.jscomp.graph.GraphColoring.GreedyGraphColoring;
 import com.google.javascript.jscomp.graph.GraphNode;
-import com.google.javascript.jscomp.graph.LinkedUndirectedGraph;
-import com.google.javascript.jscomp.graph.UndiGraph;
 import com.google.javascript.jscomp.parsing.parser.FeatureSet;
 import com.google.javascript.rhino.IR;
 import com.google.javascript.rhino.Node;
@@ -169,7 +170,7 @@ class CoalesceVariableNames extends NodeTraversal.AbstractCfgCallback implements
     // The interference graph has the function's variables as its nodes and any interference
     // between the variables as the edges. Interference between two variables means that they are
     // alive at overlapping times, which means that their variable names cannot be coalesced.
-    UndiGraph<Var, Void> interferenceGraph =
+    BitMatrixGraph<Var> interferenceGraph =
         computeVariableNamesInterferenceGraph(cfg, liveness.getEscapedLocals());
 
     // Color any interfering variables with different colors and any variables that can be safely
@@ -322,18 +323,26 @@ class CoalesceVariableNames extends NodeTraversal.AbstractCfgCallback implements
    * @param escaped we don't want to coalesce any escaped variables
    * @return graph with variable nodes and edges representing variable interference
    */
-  private UndiGraph<Var, Void> computeVariableNamesInterferenceGraph(
+  private BitMatrixGraph<Var> computeVariableNamesInterferenceGraph(
       ControlFlowGraph<Node> cfg, Set<? extends Var> escaped) {
-    UndiGraph<Var, Void> interferenceGraph = LinkedUndirectedGraph.create();
-
     // First create a node for each non-escaped variable. We add these nodes in the order in which
     // they appear in the code because we want the names that appear earlier in the code to be used
     // when coalescing to variables that appear later in the code.
     Var[] orderedVariables = liveness.getAllVariablesInOrder().toArray(new Var[0]);
+    BitMatrixGraph<Var> interferenceGraph = BitMatrixGraph.create(orderedVariables.length);
+
+    ImmutableListMultimap.Builder<String, Integer> indicesByName = ImmutableListMultimap.builder();
+    for (int i = 0; i < orderedVariables.length; i++) {
+      indicesByName.put(orderedVariables[i].getName(), i);
+    }
+    LiveRangeChecker.VariableIndex variableIndex =
+        new LiveRangeChecker.VariableIndex(indicesByName.build());
 
     // index i in interferenceGraphNodes is set to true when interferenceGraph
     // has node orderedVariables[i]
     BitSet interferenceGraphNodes = new BitSet();
+    // The indices of the parameters in interferenceGraphNodes.
+    BitSet paramNodes = new BitSet();
 
     // interferenceBitSet[i] = indices of all variables that should have an edge with
     // orderedVariables[i]
@@ -376,6 +385,9 @@ class CoalesceVariableNames extends NodeTraversal.AbstractCfgCallback implements
 
       interferenceGraph.createNode(v);
       interferenceGraphNodes.set(vIndex);
+      if (v.isParam()) {
+        paramNodes.set(vIndex);
+      }
     }
 
     // Go through every CFG node in the program and look at variables that are live.
@@ -404,34 +416,30 @@ class CoalesceVariableNames extends NodeTraversal.AbstractCfgCallback implements
       }
 
       LiveRangeChecker liveRangeChecker =
-          new LiveRangeChecker(cfgNode.getValue(), orderedVariables, state);
+          new LiveRangeChecker(cfgNode.getValue(), variableIndex, state);
       liveRangeChecker.check(cfgNode.getValue());
       liveRangeChecker.setCrossingVariables(interferenceBitSet);
     }
 
-    // Go through each variable and try to connect them.
-    int v1Index = -1;
-    for (Var v1 : orderedVariables) {
-      v1Index++;
-
-      int v2Index = -1;
-      for (Var v2 : orderedVariables) {
-        v2Index++;
-        // Skip duplicate pairs. Also avoid merging a variable with itself.
-        if (v1Index > v2Index) {
-          continue;
-        }
-
-        if (!interferenceGraphNodes.get(v1Index) || !interferenceGraphNodes.get(v2Index)) {
-          // Skip nodes that were not added. They are globals and escaped locals.
-          continue;
-        }
-
-        if ((v1.isParam() && v2.isParam()) || interferenceBitSet[v1Index].get(v2Index)) {
-          // Add an edge between variable pairs that are both parameters
-          // because we don't want parameters to share a name.
-          interferenceGraph.connectIfNotFound(v1, null, v2);
-        }
+    // Go through each variable and connect it to the ones after it that interfere with it. Add an
+    // edge between variable pairs that are both parameters because we don't want parameters to
+    // share a name. Variables that were not added to the graph are globals and escaped locals.
+    BitSet interfering = new BitSet();
+    for (int v1Index = interferenceGraphNodes.nextSetBit(0);
+        v1Index >= 0;
+        v1Index = interferenceGraphNodes.nextSetBit(v1Index + 1)) {
+      interfering.clear();
+      interfering.or(interferenceBitSet[v1Index]);
+      if (paramNodes.get(v1Index)) {
+        interfering.or(paramNodes);
+      }
+      interfering.and(interferenceGraphNodes);
+      // Only look at each pair once, from the variable that comes first. A variable that
+      // interferes with itself gets a loop, which counts towards its degree.
+      for (int v2Index = interfering.nextSetBit(v1Index);
+          v2Index >= 0;
+          v2Index = interfering.nextSetBit(v2Index + 1)) {
+        interferenceGraph.connect(orderedVariables[v1Index], orderedVariables[v2Index]);
       }
     }
     return interferenceGraph;
@@ -586,17 +594,31 @@ class CoalesceVariableNames extends NodeTraversal.AbstractCfgCallback implements
 
     private final Node root;
     private final LinearFlowState<LiveVariableLattice> state;
-    private final Var[] orderedVariables;
+    private final VariableIndex variableIndex;
     private final List<Integer> isAssignToList = new ArrayList<>(); // indices of written variables
     private final List<Integer> isReadFromList = new ArrayList<>(); // indices of read variables
+    private boolean addedOutLiveVariables = false;
 
     LiveRangeChecker(
-        Node root, Var[] orderedVariables, LinearFlowState<LiveVariableLattice> state) {
+        Node root, VariableIndex variableIndex, LinearFlowState<LiveVariableLattice> state) {
       this.root = root;
-      this.orderedVariables = orderedVariables;
+      this.variableIndex = variableIndex;
       this.state = state;
     }
 
+    /** Maps the names of the variables of a function to their indices in the liveness analysis. */
+    static final class VariableIndex {
+      private final ImmutableListMultimap<String, Integer> indicesByName;
+
+      VariableIndex(ImmutableListMultimap<String, Integer> indicesByName) {
+        this.indicesByName = indicesByName;
+      }
+
+      ImmutableList<Integer> get(String name) {
+        return indicesByName.get(name);
+      }
+    }
+
     void check(Node n) {
       // For most AST nodes, traverse the subtree in postorder because that's how the expressions
       // are evaluated.
@@ -619,17 +641,20 @@ class CoalesceVariableNames extends NodeTraversal.AbstractCfgCallback implements
     }
 
     void visit(Node n, Node parent) {
-      for (int iVar = 0; iVar < orderedVariables.length; iVar++) {
-        if (isAssignTo(orderedVariables[iVar], n, parent)) {
-          isAssignToList.add(iVar);
-        }
+      String assignedName = getAssignedName(n, parent);
+      if (assignedName != null) {
+        isAssignToList.addAll(variableIndex.get(assignedName));
       }
       if (!isAssignToList.isEmpty()) {
-        for (int iVar = 0; iVar < orderedVariables.length; iVar++) {
-          boolean varOutLive = state.getOut().isLive(iVar);
-          if (varOutLive || isReadFrom(orderedVariables[iVar], n)) {
-            isReadFromList.add(iVar);
+        if (!addedOutLiveVariables) {
+          LiveVariableLattice liveOut = state.getOut();
+          for (int i = liveOut.nextSetBit(0); i >= 0; i = liveOut.nextSetBit(i + 1)) {
+            isReadFromList.add(i);
           }
+          addedOutLiveVariables = true;
+        }
+        if (isRead(n)) {
+          isReadFromList.addAll(variableIndex.get(n.getString()));
         }
       }
     }
@@ -648,30 +673,29 @@ class CoalesceVariableNames extends NodeTraversal.AbstractCfgCallback implements
       return (n.isName() || (n.hasChildren() && n.getFirstChild().isName()));
     }
 
-    static boolean isAssignTo(Var var, Node n, Node parent) {
+    /** Returns the name of the variable that {@code n} assigns, if any. */
+    static @Nullable String getAssignedName(Node n, Node parent) {
       if (n.isName()) {
         if (parent.isParamList()) {
           // In a function declaration, the formal parameters are assigned.
-          return var.getName().equals(n.getString());
+          return n.getString();
         } else if (NodeUtil.isNameDeclaration(parent) && n.hasChildren()) {
           // If this is a VAR declaration, if the name node has a child, we are
           // assigning to that name.
-          return var.getName().equals(n.getString());
+          return n.getString();
         } else if (NodeUtil.isLhsByDestructuring(n)) {
-          return var.getName().equals(n.getString());
+          return n.getString();
         }
       } else if (NodeUtil.isAssignmentOp(n)) {
         // Lastly, any assignmentOP is also an assign.
         Node name = n.getFirstChild();
-        return name.isName() && var.getName().equals(name.getString());
+        return name.isName() ? name.getString() : null;
       }
-      return false; // Definitely a read.
+      return null; // Definitely a read.
     }
 
-    static boolean isReadFrom(Var var, Node name) {
-      return name.isName()
-          && var.getName().equals(name.getString())
-          && !NodeUtil.isNameDeclOrSimpleAssignLhs(name, name.getParent());
+    static boolean isRead(Node name) {
+      return name.isName() && !NodeUtil.isNameDeclOrSimpleAssignLhs(name, name.getParent());
     }
   }
 }
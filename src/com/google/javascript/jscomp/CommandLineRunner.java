@@ -744,6 +744,23 @@ public class CommandLineRunner extends AbstractCommandLineRunner<Compiler, Compi
                 + "Options: ALL, AST_SIZE, RAW_SIZE, TIMING_ONLY, OFF")
     private CompilerOptions.TracerMode tracerMode = CompilerOptions.TracerMode.OFF;
 
+    @Option(
+        name = "--tracer_json_output",
+        hidden = true,
+        usage =
+            "With --tracer_mode, also writes the duration, CPU time, allocated memory and "
+                + "garbage collections of each compiler pass to this file as JSON.")
+    private @Nullable String tracerJsonOutput = null;
+
+    @Option(
+        name = "--tracer_openmetrics_output",
+        hidden = true,
+        usage =
+            "With --tracer_mode, also writes the duration, CPU time, allocated memory and "
+                + "garbage collections of each compiler pass to this file in the OpenMetrics "
+                + "text format.")
+    private @Nullable String tracerOpenMetricsOutput = null;
+
     @Option(
         name = "--rename_variable_prefix",
         usage = "Specifies a prefix that will be prepended to all variables.")
@@ -846,6 +863,15 @@ public class CommandLineRunner extends AbstractCommandLineRunner<Compiler, Compi
         usage = "Whether to iteratively print resulting JS source per pass.")
     private boolean printSourceAfterEachPass = false;
 
+    @Option(
+        name = "--memory_mapped_inputs",
+        handler = BooleanOptionHandler.class,
+        hidden = true,
+        usage =
+            "Reads input files through a memory mapping instead of copying them onto the heap, "
+                + "which lowers memory use for very large numbers of inputs.")
+    private boolean memoryMappedInputs = false;
+
     @Option(
         name = "--module_resolution",
         usage =
@@ -1754,6 +1780,7 @@ public class CommandLineRunner extends AbstractCommandLineRunner<Compiler, Compi
           .setExterns(flags.externs)
           .setMixedJsSources(mixedSources)
           .setDefaultToStdin()
+          .setMemoryMappedInputs(flags.memoryMappedInputs)
           .setJsOutputFile(flags.jsOutputFile)
           .setModule(flags.chunk)
           .setVariableMapOutputFile(flags.variableMapOutputFile)
@@ -1985,6 +2012,12 @@ public class CommandLineRunner extends AbstractCommandLineRunner<Compiler, Compi
 
     options.setPrintSourceAfterEachPass(flags.printSourceAfterEachPass);
     options.setTracerMode(flags.tracerMode);
+    if (flags.tracerJsonOutput != null) {
+      options.setTracerJsonOutput(Path.of(flags.tracerJsonOutput));
+    }
+    if (flags.tracerOpenMetricsOutput != null) {
+      options.setTracerOpenMetricsOutput(Path.of(flags.tracerOpenMetricsOutput));
+    }
     options.setStrictModeInput(flags.strictModeInput);
     options.setEmitUseStrict(flags.emitUseStrict);
     options.setSourceMapIncludeSourcesContent(flags.sourceMapIncludeSourcesContent);
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.base.Throwables.getStackTraceAsString;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.annotations.SerializedName;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A long-lived compiler process that accepts repeated compile requests.
+ *
+ * <p>Each line read from standard input is a JSON request of the form {@code {args: [...], in:
+ * "..."}}, where {@code args} are the usual {@link CommandLineRunner} flags and {@code in} is what
+ * the compiler would have read from standard input, e.g. the source array for {@code
+ * --json_streams=IN}. For every request, a single line JSON response of the form {@code {exitCode:
+ * 0, out: "...", err: "..."}} is written to standard output.
+ *
+ * <p>Each request gets a fresh {@link Compiler}, so compilations don't share any state beyond what
+ * is safe to reuse: the JIT-compiled compiler code, the decompressed contents of the builtin
+ * externs and a {@link ParsedAstCache}, so that inputs whose contents haven't changed aren't parsed
+ * again.
+ */
+public final class CompileServer {
+
+  /** A single compile request. */
+  static final class Request {
+    @SerializedName("args")
+    @Nullable List<String> args;
+
+    @SerializedName("in")
+    @Nullable String in;
+  }
+
+  /** The result of a single compile request. */
+  static final class Response {
+    @SerializedName("exitCode")
+    int exitCode;
+
+    @SerializedName("out")
+    String out;
+
+    @SerializedName("err")
+    String err;
+  }
+
+  private static final Logger phaseLogger = Logger.getLogger(PhaseOptimizer.class.getName());
+
+  /** The default number of parsed inputs kept in the {@link ParsedAstCache}. */
+  private static final int DEFAULT_MAX_CACHED_ASTS = 20_000;
+
+  private final Gson gson = new Gson();
+  private final ParsedAstCache parsedAstCache;
+
+  CompileServer(int maxCachedAsts) {
+    this.parsedAstCache = new ParsedAstCache(maxCachedAsts);
+  }
+
+  ParsedAstCache getParsedAstCache() {
+    return parsedAstCache;
+  }
+
+  /** Reads requests from {@code in} until end of stream, writing one response line per request. */
+  void serve(InputStream in, PrintStream out) throws IOException {
+    BufferedReader reader = new BufferedReader(new InputStreamReader(in, UTF_8));
+    for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+      if (line.isBlank()) {
+        continue;
+      }
+      out.println(gson.toJson(serveRequest(line)));
+      out.flush();
+    }
+  }
+
+  /**
+   * Handles a single request line. Nothing that goes wrong while handling it stops the server from
+   * handling the requests that follow.
+   */
+  private Response serveRequest(String line) {
+    Request request;
+    try {
+      request = gson.fromJson(line, Request.class);
+    } catch (JsonParseException e) {
+      return errorResponse("Malformed request: " + e.getMessage());
+    }
+    if (request == null) {
+      return errorResponse("Malformed request: expected a JSON object, found " + line);
+    }
+    try {
+      return compile(request);
+    } catch (RuntimeException e) {
+      return errorResponse("Internal compiler error: " + getStackTraceAsString(e));
+    }
+  }
+
+  private static Response errorResponse(String message) {
+    Response response = new Response();
+    response.exitCode = -1;
+    response.out = "";
+    response.err = message;
+    return response;
+  }
+
+  /** Runs a single compilation in this JVM and captures everything it would have printed. */
+  Response compile(Request request) {
+    String[] args = request.args == null ? new String[0] : request.args.toArray(new String[0]);
+    byte[] input = request.in == null ? new byte[0] : request.in.getBytes(UTF_8);
+    ByteArrayOutputStream outBytes = new ByteArrayOutputStream();
+    ByteArrayOutputStream errBytes = new ByteArrayOutputStream();
+    List<Integer> exitCodes = new ArrayList<>();
+
+    try (PrintStream out = new PrintStream(outBytes, true, UTF_8);
+        PrintStream err = new PrintStream(errBytes, true, UTF_8)) {
+      CommandLineRunner runner =
+          new CommandLineRunner(args, new ByteArrayInputStream(input), out, err);
+      runner.setParsedAstCache(parsedAstCache);
+      runner.setExitCodeReceiver(
+          exitCode -> {
+            exitCodes.add(exitCode);
+            return null;
+          });
+      if (runner.shouldRunCompiler()) {
+        runner.run();
+      }
+      if (runner.hasErrors()) {
+        exitCodes.add(-1);
+      }
+    }
+
+    Response response = new Response();
+    response.exitCode = exitCodes.isEmpty() ? 0 : exitCodes.get(exitCodes.size() - 1);
+    response.out = outBytes.toString(UTF_8);
+    response.err = errBytes.toString(UTF_8);
+    return response;
+  }
+
+  public static void main(String[] args) throws IOException {
+    // disable any logging messages that can interfere with the response stream
+    phaseLogger.setLevel(Level.OFF);
+    new CompileServer(DEFAULT_MAX_CACHED_ASTS).serve(System.in, System.out);
+  }
+}
@@ -21,6 +21,7 @@ import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static com.google.common.collect.ImmutableList.toImmutableList;
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.SECONDS;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Joiner;
@@ -86,6 +87,7 @@ import com.google.javascript.rhino.IR;
 import com.google.javascript.rhino.InputId;
 import com.google.javascript.rhino.JSDocInfo;
 import com.google.javascript.rhino.Node;
+import com.google.javascript.rhino.RhinoStringPool;
 import com.google.javascript.rhino.StaticScope;
 import com.google.javascript.rhino.StaticSourceFile.SourceKind;
 import com.google.javascript.rhino.jstype.JSTypeRegistry;
@@ -112,6 +114,9 @@ import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.logging.Level;
@@ -392,6 +397,10 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
   public void initOptions(CompilerOptions options) {
     this.options = options;
     this.allowableFeatures = options.getLanguageIn().toFeatureSet();
+    this.controlFlowGraphCache =
+        options.cacheControlFlowGraphs
+            ? new ControlFlowGraphCache(/* verify= */ options.devMode != DevMode.OFF)
+            : null;
     initExperimentalForceTranspileOptions(options);
     if (errorManager == null) {
       if (this.outStream == null) {
@@ -962,6 +971,7 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
    * information about the exception.
    */
   public void generateReport() {
+    shutdownParallelExecutor();
     Tracer t = newTracer("generateReport");
     errorManager.generateReport();
     stopTracer(t, "generateReport");
@@ -1143,6 +1153,16 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
     }
 
     if (tracker != null) {
+      if (typeRegistry != null) {
+        tracker.setSubtypeCacheStats(
+            typeRegistry.getSubtypeCacheHitCount(), typeRegistry.getSubtypeCacheMissCount());
+      }
+      tracker.setFlowScopeJoinStats(
+          flowScopeJoinStatistics.getJoinCount(), flowScopeJoinStatistics.getSlotsMergedCount());
+      tracker.setStringPoolStats(
+          RhinoStringPool.size(),
+          RhinoStringPool.getLookupCount() - stringPoolLookupsAtStart,
+          RhinoStringPool.getHitCount() - stringPoolHitsAtStart);
       if (options.getTracerOutput() == null) {
         tracker.outputTracerReport(this.outStream);
       } else {
@@ -1152,6 +1172,22 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
           throw new RuntimeException(e);
         }
       }
+      if (options.getTracerJsonOutput() != null) {
+        try (PrintStream out =
+            new PrintStream(Files.newOutputStream(options.getTracerJsonOutput()))) {
+          tracker.outputJsonReport(out);
+        } catch (Exception e) {
+          throw new RuntimeException(e);
+        }
+      }
+      if (options.getTracerOpenMetricsOutput() != null) {
+        try (PrintStream out =
+            new PrintStream(Files.newOutputStream(options.getTracerOpenMetricsOutput()))) {
+          tracker.outputOpenMetricsReport(out);
+        } catch (Exception e) {
+          throw new RuntimeException(e);
+        }
+      }
     }
   }
 
@@ -1892,6 +1928,9 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
     return this.transpilationNamespace;
   }
 
+  private long stringPoolLookupsAtStart = 0;
+  private long stringPoolHitsAtStart = 0;
+
   public void maybeSetTracker() {
     if (!options.getTracerMode().isOn() || tracker != null) {
       return;
@@ -1899,6 +1938,9 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
 
     tracker = new PerformanceTracker(externsRoot, jsRoot, options.getTracerMode());
     addChangeHandler(tracker.getCodeChangeHandler());
+    // The string pool is shared by the whole JVM, so only report what it did since now.
+    stringPoolLookupsAtStart = RhinoStringPool.getLookupCount();
+    stringPoolHitsAtStart = RhinoStringPool.getHitCount();
   }
 
   void initializeModuleLoader() {
@@ -2107,6 +2149,38 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
 
   private boolean preferRegexParser = false;
 
+  private @Nullable ParsedAstCache parsedAstCache = null;
+
+  /**
+   * Sets a cache of parse results to consult before parsing any input.
+   *
+   * <p>Sharing one cache between compilations of the same program means that a recompilation only
+   * parses the inputs whose contents changed.
+   */
+  public void setParsedAstCache(@Nullable ParsedAstCache parsedAstCache) {
+    this.parsedAstCache = parsedAstCache;
+  }
+
+  @Override
+  @Nullable ParsedAstCache getParsedAstCache() {
+    return parsedAstCache;
+  }
+
+  private @Nullable ControlFlowGraphCache controlFlowGraphCache = null;
+
+  @Override
+  @Nullable ControlFlowGraphCache getControlFlowGraphCache() {
+    return controlFlowGraphCache;
+  }
+
+  private final LinkedFlowScope.JoinStatistics flowScopeJoinStatistics =
+      new LinkedFlowScope.JoinStatistics();
+
+  @Override
+  LinkedFlowScope.JoinStatistics getFlowScopeJoinStatistics() {
+    return flowScopeJoinStatistics;
+  }
+
   void orderInputsWithLargeStack() {
     runInCompilerThread(
         () -> {
@@ -2346,7 +2420,8 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
 
   private void maybeDoThreadedParsing() {
     if (options.numParallelThreads > 1) {
-      new PrebuildDependencyInfo(options.numParallelThreads).prebuild(chunkGraph.getAllInputs());
+      new PrebuildDependencyInfo(this, options.numParallelThreads)
+          .prebuild(chunkGraph.getAllInputs());
     }
   }
 
@@ -2479,34 +2554,38 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
   public String toSource() {
     return runInCompilerThread(
         () -> {
-          Tracer tracer = newTracer("toSource");
-          try {
-            CodeBuilder cb = new CodeBuilder();
-            // We are emitting all the sources at once, so use the SingleBinaryLicenseTracker
-            // to de-dupe seen licenses across all inputs.
-            SingleBinaryLicenseTracker lt = new SingleBinaryLicenseTracker(this);
-            if (jsRoot != null) {
-              int i = 0;
-              if (options.shouldPrintExterns()) {
-                for (Node scriptNode = externsRoot.getFirstChild();
-                    scriptNode != null;
-                    scriptNode = scriptNode.getNext()) {
-                  toSource(cb, lt, i++, scriptNode);
-                }
-              }
-              for (Node scriptNode = jsRoot.getFirstChild();
-                  scriptNode != null;
-                  scriptNode = scriptNode.getNext()) {
-                toSource(cb, lt, i++, scriptNode);
-              }
-            }
-            return cb.toString();
-          } finally {
-            stopTracer(tracer, "toSource");
-          }
+          CodeBuilder cb = new CodeBuilder();
+          // We are emitting all the sources at once, so use the SingleBinaryLicenseTracker
+          // to de-dupe seen licenses across all inputs.
+          toSource(cb, new SingleBinaryLicenseTracker(this));
+          return cb.toString();
         });
   }
 
+  /** Writes out JS code for the main parse tree, including the externs if they are printed. */
+  private void toSource(CodeBuilder cb, LicenseTracker licenseTracker) {
+    Tracer tracer = newTracer("toSource");
+    try {
+      if (jsRoot != null) {
+        int i = 0;
+        if (options.shouldPrintExterns()) {
+          for (Node scriptNode = externsRoot.getFirstChild();
+              scriptNode != null;
+              scriptNode = scriptNode.getNext()) {
+            toSource(cb, licenseTracker, i++, scriptNode);
+          }
+        }
+        for (Node scriptNode = jsRoot.getFirstChild();
+            scriptNode != null;
+            scriptNode = scriptNode.getNext()) {
+          toSource(cb, licenseTracker, i++, scriptNode);
+        }
+      }
+    } finally {
+      stopTracer(tracer, "toSource");
+    }
+  }
+
   /**
    * Converts the parse tree for a chunk back to JS code.
    *
@@ -2531,23 +2610,47 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
   public String toSource(final LicenseTracker licenseTracker, final JSChunk chunk) {
     return runInCompilerThread(
         () -> {
-          ImmutableList<CompilerInput> inputs = chunk.getInputs();
-          int numInputs = inputs.size();
-          if (numInputs == 0) {
-            return "";
-          }
           CodeBuilder cb = new CodeBuilder();
-          for (int i = 0; i < numInputs; i++) {
-            Node scriptNode = inputs.get(i).getAstRoot(Compiler.this);
-            if (scriptNode == null) {
-              throw new IllegalArgumentException("Bad module: " + chunk.getName());
-            }
-            toSource(cb, licenseTracker, i, scriptNode);
-          }
+          toSource(cb, licenseTracker, chunk);
           return cb.toString();
         });
   }
 
+  /**
+   * Writes out JS code for a chunk, or for the main parse tree if {@code chunk} is null, to {@code
+   * out}.
+   *
+   * <p>Unlike the methods that return the code as a string, this never holds more than the code for
+   * a single input in memory, which matters for very large chunks. The output is the same as that
+   * of {@link #toSource(LicenseTracker, JSChunk)}, or of {@link #toSource()} if {@code chunk} is
+   * null.
+   */
+  public void toSource(Appendable out, LicenseTracker licenseTracker, @Nullable JSChunk chunk)
+      throws IOException {
+    CodeBuilder cb = new CodeBuilder(out);
+    runInCompilerThread(
+        () -> {
+          if (chunk == null) {
+            toSource(cb, licenseTracker);
+          } else {
+            toSource(cb, licenseTracker, chunk);
+          }
+          return null;
+        });
+    cb.flush();
+  }
+
+  private void toSource(CodeBuilder cb, LicenseTracker licenseTracker, JSChunk chunk) {
+    ImmutableList<CompilerInput> inputs = chunk.getInputs();
+    for (int i = 0; i < inputs.size(); i++) {
+      Node scriptNode = inputs.get(i).getAstRoot(Compiler.this);
+      if (scriptNode == null) {
+        throw new IllegalArgumentException("Bad module: " + chunk.getName());
+      }
+      toSource(cb, licenseTracker, i, scriptNode);
+    }
+  }
+
   /**
    * Writes out JS code from a root node. If printing input delimiters, this method will attach a
    * comment to the start of the text indicating which input the output derived from. If there were
@@ -2934,14 +3037,36 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
   /**
    * Stores a buffer of text to which more can be appended. This is just like a StringBuilder except
    * that we also track the number of lines.
+   *
+   * <p>A CodeBuilder created with an output only buffers a bounded amount of text and writes the
+   * rest through to the output. Errors writing to the output are reported by {@link #flush}.
    */
   public static class CodeBuilder {
+    /** Once a streaming CodeBuilder buffers this many chars, they are written to the output. */
+    private static final int STREAMING_BUFFER_SIZE = 64 * 1024;
+
+    /** The number of trailing chars a streaming CodeBuilder keeps, for {@link #endsWith}. */
+    private static final int STREAMING_TAIL_SIZE = 16;
+
     private final StringBuilder sb = new StringBuilder();
+    private final @Nullable Appendable out;
+    private int flushedLength = 0;
+    private @Nullable IOException writeException;
     private int lineCount = 0;
     private int colCount = 0;
 
+    public CodeBuilder() {
+      this.out = null;
+    }
+
+    /** Creates a CodeBuilder that streams its text to {@code out}. */
+    CodeBuilder(Appendable out) {
+      this.out = checkNotNull(out);
+    }
+
     /** Removes all text, but leaves the line count unchanged. */
     void reset() {
+      checkState(out == null, "Can't reset a streaming CodeBuilder");
       sb.setLength(0);
     }
 
@@ -2949,6 +3074,9 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
     @CanIgnoreReturnValue
     CodeBuilder append(String str) {
       sb.append(str);
+      if (out != null && sb.length() >= STREAMING_BUFFER_SIZE) {
+        writeOut(sb.length() - STREAMING_TAIL_SIZE);
+      }
 
       // Adjust the line and column information for the new text.
       int index = -1;
@@ -2968,15 +3096,41 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
       return this;
     }
 
+    /** Writes the first {@code length} buffered chars to the output. */
+    private void writeOut(int length) {
+      if (writeException == null) {
+        try {
+          out.append(sb, 0, length);
+        } catch (IOException e) {
+          writeException = e;
+        }
+      }
+      sb.delete(0, length);
+      flushedLength += length;
+    }
+
+    /**
+     * Writes all buffered text to the output of a streaming CodeBuilder, and rethrows the first
+     * error that happened while writing to it.
+     */
+    void flush() throws IOException {
+      checkState(out != null, "Only a streaming CodeBuilder can be flushed");
+      writeOut(sb.length());
+      if (writeException != null) {
+        throw writeException;
+      }
+    }
+
     /** Returns all text in the text buffer. */
     @Override
     public String toString() {
+      checkState(out == null, "The text of a streaming CodeBuilder isn't retained");
       return sb.toString();
     }
 
     /** Returns the length of the text buffer. */
     public int getLength() {
-      return sb.length();
+      return flushedLength + sb.length();
     }
 
     /** Returns the (zero-based) index of the last line in the text buffer. */
@@ -2991,7 +3145,9 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
 
     /** Determines whether the text ends with the given suffix. */
     boolean endsWith(String suffix) {
-      return (sb.length() > suffix.length())
+      checkArgument(out == null || suffix.length() <= STREAMING_TAIL_SIZE, suffix);
+      return (getLength() > suffix.length())
+          && sb.length() >= suffix.length()
           && suffix.equals(sb.substring(sb.length() - suffix.length()));
     }
   }
@@ -3191,6 +3347,9 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
     checkState(n.isFunction());
     n.setDeleted(true);
     changeTimeline.remove(n);
+    if (controlFlowGraphCache != null) {
+      controlFlowGraphCache.remove(n);
+    }
   }
 
   @Override
@@ -3305,6 +3464,24 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
 
   @Override
   public void report(JSError error) {
+    CollectedDiagnostics collected = collectedDiagnostics.get();
+    if (collected != null) {
+      collected.add(error, getReportedLevel(error));
+      return;
+    }
+
+    CheckLevel level = getReportedLevel(error);
+    if (level.isOn()) {
+      initCompilerOptionsIfTesting();
+      if (getOptions().errorHandler != null) {
+        getOptions().errorHandler.report(level, error);
+      }
+      errorManager.report(level, error);
+    }
+  }
+
+  /** Returns the level {@code error} is reported at, after applying the warnings guard. */
+  private CheckLevel getReportedLevel(JSError error) {
     CheckLevel level = error.getDefaultLevel();
     if (warningsGuard != null) {
       CheckLevel newLevel = warningsGuard.level(error);
@@ -3312,13 +3489,78 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
         level = newLevel;
       }
     }
+    return level;
+  }
 
-    if (level.isOn()) {
-      initCompilerOptionsIfTesting();
-      if (getOptions().errorHandler != null) {
-        getOptions().errorHandler.report(level, error);
+  /** Diagnostics reported on a thread that is running {@link #collectDiagnostics}. */
+  private final ThreadLocal<@Nullable CollectedDiagnostics> collectedDiagnostics =
+      new ThreadLocal<>();
+
+  private static final class CollectedDiagnostics {
+    final List<JSError> errors = new ArrayList<>();
+
+    /**
+     * Whether one of the errors would halt compilation once reported, using the same test as
+     * {@link ErrorManager#hasHaltingErrors}.
+     */
+    boolean hasHaltingError = false;
+
+    void add(JSError error, CheckLevel level) {
+      errors.add(error);
+      if (level == CheckLevel.ERROR && error.getType().level == CheckLevel.ERROR) {
+        hasHaltingError = true;
       }
-      errorManager.report(level, error);
+    }
+  }
+
+  @Override
+  ImmutableList<JSError> collectDiagnostics(Runnable task) {
+    checkState(collectedDiagnostics.get() == null, "Already collecting diagnostics");
+    CollectedDiagnostics collected = new CollectedDiagnostics();
+    collectedDiagnostics.set(collected);
+    try {
+      task.run();
+    } finally {
+      collectedDiagnostics.remove();
+    }
+    return ImmutableList.copyOf(collected.errors);
+  }
+
+  /**
+   * Worker threads for passes that split their work up, created on first use. Idle threads exit on
+   * their own, and {@link #generateReport} shuts the pool down at the end of the compilation.
+   */
+  private @Nullable ThreadPoolExecutor parallelExecutor = null;
+
+  private static final long PARALLEL_EXECUTOR_KEEP_ALIVE_SECONDS = 10;
+
+  @Override
+  public ExecutorService getParallelExecutor() {
+    if (parallelExecutor == null || parallelExecutor.isShutdown()) {
+      int numThreads = Math.max(1, options.numParallelThreads);
+      parallelExecutor =
+          new ThreadPoolExecutor(
+              numThreads,
+              numThreads,
+              PARALLEL_EXECUTOR_KEEP_ALIVE_SECONDS,
+              SECONDS,
+              new LinkedBlockingQueue<>(),
+              r -> {
+                Thread t =
+                    new Thread(
+                        null, r, "jscompiler-worker", CompilerExecutor.COMPILER_STACK_SIZE);
+                t.setDaemon(true); // Do not prevent the JVM from exiting.
+                return t;
+              });
+      parallelExecutor.allowCoreThreadTimeOut(true);
+    }
+    return parallelExecutor;
+  }
+
+  private void shutdownParallelExecutor() {
+    if (parallelExecutor != null) {
+      parallelExecutor.shutdown();
+      parallelExecutor = null;
     }
   }
 
@@ -3352,7 +3594,12 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
 
   @Override
   boolean hasHaltingErrors() {
-    return !getOptions().canContinueAfterErrors() && errorManager.hasHaltingErrors();
+    if (getOptions().canContinueAfterErrors()) {
+      return false;
+    }
+    // Errors collected on this thread will be reported later, and must stop it all the same.
+    CollectedDiagnostics collected = collectedDiagnostics.get();
+    return (collected != null && collected.hasHaltingError) || errorManager.hasHaltingErrors();
   }
 
   /**
@@ -4157,6 +4404,9 @@ public class Compiler extends AbstractCompiler implements ErrorHandler, SourceFi
     // so all the AST Nodes we read in effectively have a change stamp of 0,
     // and we can just start the compiler's counter over at 1.
     changeStamp = 1;
+    if (controlFlowGraphCache != null) {
+      controlFlowGraphCache.clear();
+    }
 
     accessorSummary = compilerState.accessorSummary;
     instrumentationMapping = compilerState.instrumentationMappping;
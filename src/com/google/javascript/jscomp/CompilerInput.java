@@ -31,8 +31,10 @@ import com.google.javascript.jscomp.deps.JsFileRegexParser;
 import com.google.javascript.jscomp.deps.ModuleLoader;
 import com.google.javascript.jscomp.deps.ModuleLoader.ModulePath;
 import com.google.javascript.jscomp.deps.SimpleDependencyInfo;
+import com.google.javascript.jscomp.parsing.Config;
 import com.google.javascript.jscomp.parsing.ParserRunner;
 import com.google.javascript.jscomp.parsing.parser.FeatureSet;
+import com.google.javascript.rhino.ErrorReporter;
 import com.google.javascript.rhino.IR;
 import com.google.javascript.rhino.InputId;
 import com.google.javascript.rhino.JSDocInfo;
@@ -678,15 +680,32 @@ public class CompilerInput implements DependencyInfo {
 
     private void parse(AbstractCompiler compiler) {
       try {
-        ParserRunner.ParseResult result =
-            ParserRunner.parse(
-                sourceFile,
-                sourceFile.getCode(),
-                compiler.getParserConfig(
-                    sourceFile.isExtern()
-                        ? AbstractCompiler.ConfigContext.EXTERNS
-                        : AbstractCompiler.ConfigContext.DEFAULT),
-                compiler.getDefaultErrorReporter());
+        String code = sourceFile.getCode();
+        Config config =
+            compiler.getParserConfig(
+                sourceFile.isExtern()
+                    ? AbstractCompiler.ConfigContext.EXTERNS
+                    : AbstractCompiler.ConfigContext.DEFAULT);
+        ParsedAstCache cache = compiler.getParsedAstCache();
+        ParserRunner.ParseResult result;
+        // Deferred JSDoc reports its warnings after the parse, so the cache couldn't tell whether
+        // the parse was clean.
+        if (cache == null
+            || config.jsDocParsingMode() == Config.JsDocParsing.TYPES_ONLY_DEFERRED) {
+          result = ParserRunner.parse(sourceFile, code, config, compiler.getDefaultErrorReporter());
+        } else {
+          ParsedAstCache.Key cacheKey = ParsedAstCache.keyFor(sourceFile, code, config);
+          result = cache.get(cacheKey, sourceFile);
+          if (result == null) {
+            ReportTrackingErrorReporter errorReporter =
+                new ReportTrackingErrorReporter(compiler.getDefaultErrorReporter());
+            result = ParserRunner.parse(sourceFile, code, config, errorReporter);
+            // Cache hits don't replay diagnostics, so only cache parses that had none.
+            if (!errorReporter.hasReported) {
+              cache.put(cacheKey, result);
+            }
+          }
+        }
         root = result.ast;
         features = result.features;
 
@@ -716,4 +735,26 @@ public class CompilerInput implements DependencyInfo {
       root.setStaticSourceFile(sourceFile);
     }
   }
+
+  /** Forwards to another {@link ErrorReporter}, remembering whether anything was reported. */
+  private static final class ReportTrackingErrorReporter implements ErrorReporter {
+    private final ErrorReporter delegate;
+    private boolean hasReported = false;
+
+    ReportTrackingErrorReporter(ErrorReporter delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public void warning(String message, String sourceName, int line, int lineOffset) {
+      hasReported = true;
+      delegate.warning(message, sourceName, line, lineOffset);
+    }
+
+    @Override
+    public void error(String message, String sourceName, int line, int lineOffset) {
+      hasReported = true;
+      delegate.error(message, sourceName, line, lineOffset);
+    }
+  }
 }
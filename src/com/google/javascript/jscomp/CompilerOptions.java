@@ -420,9 +420,9 @@ public class CompilerOptions implements Serializable {
   /**
    * Sets the level of parallelism for compilation passes that can exploit multi-threading.
    *
-   * <p>Some compiler passes may take advantage of multi-threading, for example, parsing inputs.
-   * This sets the level of parallelism. The compiler will not start more than this number of
-   * threads.
+   * <p>Some compiler passes may take advantage of multi-threading, for example, parsing inputs or
+   * running checks that look at one script at a time. This sets the level of parallelism. The
+   * compiler will not start more than this number of threads.
    *
    * @param parallelism up to this number of parallel threads may be created.
    */
@@ -430,6 +430,17 @@ public class CompilerOptions implements Serializable {
     numParallelThreads = parallelism;
   }
 
+  boolean cacheControlFlowGraphs = false;
+
+  /**
+   * Sets whether the control flow graph of a function is kept between passes and reused until a
+   * pass reports a change to the function. This relies on every pass reporting its changes, which
+   * {@link #setDevMode} verifies for the functions whose cached graph is reused.
+   */
+  public void setCacheControlFlowGraphs(boolean cacheControlFlowGraphs) {
+    this.cacheControlFlowGraphs = cacheControlFlowGraphs;
+  }
+
   // --------------------------------
   // Optimizations
   // --------------------------------
@@ -1001,6 +1012,28 @@ public class CompilerOptions implements Serializable {
     tracerOutput = out;
   }
 
+  private @Nullable Path tracerJsonOutput;
+
+  @Nullable Path getTracerJsonOutput() {
+    return tracerJsonOutput;
+  }
+
+  /** Also writes the per-pass tracer statistics to {@code out} as JSON. */
+  public void setTracerJsonOutput(@Nullable Path out) {
+    tracerJsonOutput = out;
+  }
+
+  private @Nullable Path tracerOpenMetricsOutput;
+
+  @Nullable Path getTracerOpenMetricsOutput() {
+    return tracerOpenMetricsOutput;
+  }
+
+  /** Also writes the per-pass tracer statistics to {@code out} in the OpenMetrics text format. */
+  public void setTracerOpenMetricsOutput(@Nullable Path out) {
+    tracerOpenMetricsOutput = out;
+  }
+
   private boolean colorizeErrorOutput;
 
   public ErrorFormat errorFormat;
@@ -2778,6 +2811,7 @@ public class CompilerOptions implements Serializable {
         .add("assumeGettersArePure", assumeGettersArePure)
         .add("assumeStrictThis", assumeStrictThis())
         .add("browserResolverPrefixReplacements", browserResolverPrefixReplacements)
+        .add("cacheControlFlowGraphs", cacheControlFlowGraphs)
         .add("checkDeterminism", getCheckDeterminism())
         .add("checkSuspiciousCode", checkSuspiciousCode)
         .add("checkSymbols", checkSymbols)
@@ -29,8 +29,11 @@ import com.google.javascript.jscomp.graph.DiGraph.DiGraphNode;
 import com.google.javascript.rhino.Node;
 import com.google.javascript.rhino.Token;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Deque;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.PriorityQueue;
 import org.jspecify.annotations.Nullable;
@@ -66,6 +69,9 @@ public final class ControlFlowAnalysis implements NodeTraversal.Callback {
 
   private ControlFlowGraph<Node> cfg;
 
+  // A copy of the edges added to the graph, only kept when the graph is to be cached.
+  private @Nullable EdgeTable edges;
+
   private @Nullable LinkedIdentityHashMap<Node, Integer> astPosition;
 
   // We order CFG nodes by by looking at the AST positions.
@@ -81,6 +87,7 @@ public final class ControlFlowAnalysis implements NodeTraversal.Callback {
 
   private final boolean shouldTraverseFunctions;
   private final boolean edgeAnnotations;
+  private final boolean recordEdges;
 
   // We need to store where we started, in case we aren't doing a flow analysis
   // for the whole scope. This happens, for example, when running type inference
@@ -131,12 +138,17 @@ public final class ControlFlowAnalysis implements NodeTraversal.Callback {
    * @param compiler Compiler instance.
    * @param shouldTraverseFunctions Whether functions should be traversed
    * @param edgeAnnotations Whether to allow edge annotations.
+   * @param recordEdges Whether to also record the edges in an {@link EdgeTable}.
    */
   private ControlFlowAnalysis(
-      AbstractCompiler compiler, boolean shouldTraverseFunctions, boolean edgeAnnotations) {
+      AbstractCompiler compiler,
+      boolean shouldTraverseFunctions,
+      boolean edgeAnnotations,
+      boolean recordEdges) {
     this.compiler = compiler;
     this.shouldTraverseFunctions = shouldTraverseFunctions;
     this.edgeAnnotations = edgeAnnotations;
+    this.recordEdges = recordEdges;
   }
 
   /**
@@ -177,10 +189,32 @@ public final class ControlFlowAnalysis implements NodeTraversal.Callback {
     public ControlFlowGraph<Node> computeCfg() {
       Preconditions.checkNotNull(compiler, "Need to call setCompiler()");
       Preconditions.checkNotNull(cfgRoot, "Need to call setCfgRoot()");
+      ControlFlowGraphCache cache = compiler.getControlFlowGraphCache();
+      if (cache == null || shouldTraverseFunctions) {
+        return analyze(/* recordEdges= */ false).cfg;
+      }
+
+      // The edges of a single function are shared between passes until the function changes.
+      EdgeTable cachedEdges = cache.get(cfgRoot);
+      if (cachedEdges != null) {
+        if (cache.shouldVerify()) {
+          checkState(
+              cachedEdges.hasSameGraphAs(analyze(/* recordEdges= */ true).edges),
+              "The cached control flow graph of %s is out of date. Was a change not reported?",
+              cfgRoot);
+        }
+        return new AstControlFlowGraph(cachedEdges, edgeAnnotations);
+      }
+      ControlFlowAnalysis cfa = analyze(/* recordEdges= */ true);
+      cache.put(cfgRoot, cfa.edges);
+      return cfa.cfg;
+    }
+
+    private ControlFlowAnalysis analyze(boolean recordEdges) {
       ControlFlowAnalysis cfa =
-          new ControlFlowAnalysis(compiler, shouldTraverseFunctions, edgeAnnotations);
+          new ControlFlowAnalysis(compiler, shouldTraverseFunctions, edgeAnnotations, recordEdges);
       cfa.computeCfg(this.cfgRoot);
-      return cfa.cfg;
+      return cfa;
     }
   }
 
@@ -199,6 +233,7 @@ public final class ControlFlowAnalysis implements NodeTraversal.Callback {
     astPosition = new LinkedIdentityHashMap<>();
     astPositionCounter = 0;
     cfg = new AstControlFlowGraph(computeFallThrough(root), edgeAnnotations);
+    edges = recordEdges ? new EdgeTable(cfg.getEntry().getValue()) : null;
 
     // Traverse the graph.
     NodeTraversal.traverse(compiler, root, this);
@@ -238,6 +273,10 @@ public final class ControlFlowAnalysis implements NodeTraversal.Callback {
 
     // Again, the implicit return node is always last.
     cfg.getImplicitReturn().setPriority(++priorityCounter);
+
+    if (edges != null) {
+      edges.freeze(cfg);
+    }
   }
 
   /** Given an entry node, find all the nodes reachable from that node and prioritize them. */
@@ -912,6 +951,9 @@ public final class ControlFlowAnalysis implements NodeTraversal.Callback {
     cfg.createNode(fromNode);
     cfg.createNode(toNode);
     cfg.connectIfNotFound(fromNode, branch, toNode);
+    if (edges != null) {
+      edges.connectIfNotFound(fromNode, branch, toNode);
+    }
   }
 
   /**
@@ -1087,6 +1129,180 @@ public final class ControlFlowAnalysis implements NodeTraversal.Callback {
     return null;
   }
 
+  /**
+   * A compact copy of the nodes, edges and node priorities of a control flow graph, which is what
+   * {@link ControlFlowGraphCache} keeps between passes.
+   *
+   * <p>Nodes are numbered in the order the graph created them and edges are stored in flat arrays,
+   * in the order they were added, with the edges leaving each node chained through {@link
+   * #nextOutEdge}. Once frozen, a table is immutable and can create any number of independent
+   * graphs, each with its own annotations, that are identical to the one it was copied from.
+   */
+  static final class EdgeTable {
+    static final int IMPLICIT_RETURN = 0;
+    static final int ENTRY = 1;
+
+    private static final Branch[] BRANCHES = Branch.values();
+
+    // Only needed while edges are added.
+    private @Nullable IdentityHashMap<Node, Integer> ids = new IdentityHashMap<>();
+    private int @Nullable [] firstOutEdge = new int[16];
+    private int @Nullable [] nextOutEdge = new int[16];
+
+    private final ArrayList<Node> values = new ArrayList<>();
+    private int[] inDegrees = new int[16];
+    private int[] outDegrees = new int[16];
+
+    private int edgeCount = 0;
+    private int[] sources = new int[16];
+    private int[] destinations = new int[16];
+    private byte[] branches = new byte[16];
+
+    private int[] priorities;
+
+    EdgeTable(Node entry) {
+      // Mirror the ControlFlowGraph constructor, which creates these two nodes first.
+      getOrCreateId(null);
+      getOrCreateId(entry);
+    }
+
+    /** Copies the node priorities of the graph and drops what is only needed to add edges. */
+    void freeze(ControlFlowGraph<Node> cfg) {
+      checkState(cfg.getNodeCount() == values.size());
+      priorities = new int[values.size()];
+      for (int id = 0; id < priorities.length; id++) {
+        priorities[id] = cfg.getNode(values.get(id)).getPriority();
+      }
+      this.ids = null;
+      this.firstOutEdge = null;
+      this.nextOutEdge = null;
+      values.trimToSize();
+      inDegrees = Arrays.copyOf(inDegrees, values.size());
+      outDegrees = Arrays.copyOf(outDegrees, values.size());
+      sources = Arrays.copyOf(sources, edgeCount);
+      destinations = Arrays.copyOf(destinations, edgeCount);
+      branches = Arrays.copyOf(branches, edgeCount);
+    }
+
+    int getNodeCount() {
+      return values.size();
+    }
+
+    /** Whether both tables hold the same nodes, in the same order, with the same edges. */
+    boolean hasSameGraphAs(EdgeTable other) {
+      if (values.size() != other.values.size()) {
+        return false;
+      }
+      for (int id = 0; id < values.size(); id++) {
+        if (values.get(id) != other.values.get(id)) {
+          return false;
+        }
+      }
+      return Arrays.equals(priorities, other.priorities)
+          && Arrays.equals(sources, other.sources)
+          && Arrays.equals(destinations, other.destinations)
+          && Arrays.equals(branches, other.branches);
+    }
+
+    int getPriority(int id) {
+      return priorities[id];
+    }
+
+    @Nullable Node getValue(int id) {
+      return values.get(id);
+    }
+
+    int getInDegree(int id) {
+      return inDegrees[id];
+    }
+
+    int getOutDegree(int id) {
+      return outDegrees[id];
+    }
+
+    int getEdgeCount() {
+      return edgeCount;
+    }
+
+    int getSource(int edge) {
+      return sources[edge];
+    }
+
+    int getDestination(int edge) {
+      return destinations[edge];
+    }
+
+    Branch getBranch(int edge) {
+      return BRANCHES[branches[edge]];
+    }
+
+    /**
+     * Adds an edge unless the two nodes are already connected by one, in either direction, like
+     * {@link ControlFlowGraph#connectIfNotFound}.
+     */
+    void connectIfNotFound(Node fromNode, Branch branch, @Nullable Node toNode) {
+      int from = getOrCreateId(fromNode);
+      int to = getOrCreateId(toNode);
+      byte code = (byte) branch.ordinal();
+      if (hasEdge(from, code, to) || hasEdge(to, code, from)) {
+        return;
+      }
+
+      int edge = edgeCount++;
+      if (edge == sources.length) {
+        int capacity = edge * 2;
+        sources = Arrays.copyOf(sources, capacity);
+        destinations = Arrays.copyOf(destinations, capacity);
+        nextOutEdge = Arrays.copyOf(nextOutEdge, capacity);
+        branches = Arrays.copyOf(branches, capacity);
+      }
+      sources[edge] = from;
+      destinations[edge] = to;
+      branches[edge] = code;
+      nextOutEdge[edge] = -1;
+
+      // Append to the end of the chain, so that edges are listed in the order they were added.
+      if (firstOutEdge[from] < 0) {
+        firstOutEdge[from] = edge;
+      } else {
+        int last = firstOutEdge[from];
+        while (nextOutEdge[last] >= 0) {
+          last = nextOutEdge[last];
+        }
+        nextOutEdge[last] = edge;
+      }
+      outDegrees[from]++;
+      inDegrees[to]++;
+    }
+
+    private boolean hasEdge(int from, byte code, int to) {
+      for (int e = firstOutEdge[from]; e >= 0; e = nextOutEdge[e]) {
+        if (destinations[e] == to && branches[e] == code) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private int getOrCreateId(@Nullable Node value) {
+      Integer id = ids.get(value);
+      if (id != null) {
+        return id;
+      }
+      int newId = values.size();
+      ids.put(value, newId);
+      values.add(value);
+      if (newId == firstOutEdge.length) {
+        int capacity = newId * 2;
+        firstOutEdge = Arrays.copyOf(firstOutEdge, capacity);
+        inDegrees = Arrays.copyOf(inDegrees, capacity);
+        outDegrees = Arrays.copyOf(outDegrees, capacity);
+      }
+      firstOutEdge[newId] = -1;
+      return newId;
+    }
+  }
+
   /**
    * A {@link ControlFlowGraph} which provides a node comparator based on the pre-order traversal of
    * the AST.
@@ -1103,6 +1319,28 @@ public final class ControlFlowAnalysis implements NodeTraversal.Callback {
       super(entry, /* nodeAnnotations = */ true, edgeAnnotations);
     }
 
+    /**
+     * Constructs a graph with the nodes, edges and priorities of a frozen table.
+     *
+     * @param edges The nodes, edges and priorities of the graph.
+     * @param edgeAnnotations Annotation
+     */
+    private AstControlFlowGraph(EdgeTable edges, boolean edgeAnnotations) {
+      this(edges.getValue(EdgeTable.ENTRY), edgeAnnotations);
+      int nodeCount = edges.getNodeCount();
+      List<DiGraphNode<Node, Branch>> nodes = new ArrayList<>(nodeCount);
+      for (int id = 0; id < nodeCount; id++) {
+        DiGraphNode<Node, Branch> node =
+            createNode(edges.getValue(id), edges.getInDegree(id), edges.getOutDegree(id));
+        node.setPriority(edges.getPriority(id));
+        nodes.add(node);
+      }
+      for (int e = 0; e < edges.getEdgeCount(); e++) {
+        connect(
+            nodes.get(edges.getSource(e)), edges.getBranch(e), nodes.get(edges.getDestination(e)));
+      }
+    }
+
     /**
      * Returns a node comparator based on the pre-order traversal of the AST.
      *
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import com.google.javascript.jscomp.ControlFlowAnalysis.EdgeTable;
+import com.google.javascript.rhino.Node;
+import java.util.IdentityHashMap;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Caches the control flow graphs of individual functions and scripts between passes, so that a
+ * function that no pass has changed doesn't get its graph recomputed by every data flow analysis
+ * in the optimization loop.
+ *
+ * <p>A graph stays valid for as long as the change time of the change scope containing its root is
+ * the same as when the graph was computed. Every change reported through {@link
+ * AbstractCompiler#reportChangeToChangeScope} or {@link
+ * AbstractCompiler#reportChangeToEnclosingScope} gets a distinct change time, so any reported edit
+ * to the scope makes the next lookup recompute the graph. Only graphs that don't traverse into
+ * inner functions are cached, as changes to an inner function are reported to that function alone.
+ *
+ * <p>What is cached is the compact {@link EdgeTable} of the graph, not a {@link ControlFlowGraph}.
+ * Data flow analyses store their results as annotations on the graph, and several analyses can be
+ * looking at the same function at once, such as the checks that run in a single combined traversal.
+ * Every hit therefore gets a graph of its own, created from the table without traversing the AST
+ * again. A miss returns the graph that was just computed, and the table is recorded alongside it.
+ *
+ * <p>Entries of functions that are removed from the AST without being reported as deleted are
+ * evicted whenever the cache has doubled in size since it last looked for them.
+ *
+ * <p>When {@code verify} is set, as it is in dev mode, every hit is checked against a graph
+ * computed again from the AST, to catch passes that change a function without reporting it.
+ *
+ * <p>This class is thread-safe.
+ */
+final class ControlFlowGraphCache {
+
+  // The size at which the cache first looks for entries of detached functions.
+  private static final int MIN_EVICTION_SIZE = 64;
+
+  private final IdentityHashMap<Node, Entry> entries = new IdentityHashMap<>();
+  private final boolean verify;
+
+  private int evictionSize = MIN_EVICTION_SIZE;
+
+  private long hitCount = 0;
+  private long missCount = 0;
+
+  ControlFlowGraphCache(boolean verify) {
+    this.verify = verify;
+  }
+
+  /** Whether every hit should be checked against a graph computed again from the AST. */
+  boolean shouldVerify() {
+    return verify;
+  }
+
+  /**
+   * Returns the cached edges of {@code cfgRoot}, or null if there are none or the function has
+   * changed since they were cached.
+   */
+  @Nullable EdgeTable get(Node cfgRoot) {
+    Node changeScope = NodeUtil.getEnclosingChangeScopeRoot(cfgRoot);
+    if (changeScope == null) {
+      // The whole program isn't a change scope, so there is no way to tell when it changes.
+      return null;
+    }
+
+    int changeTime = changeScope.getChangeTime();
+    synchronized (this) {
+      Entry entry = entries.get(cfgRoot);
+      if (entry != null && entry.changeTime == changeTime) {
+        hitCount++;
+        return entry.edges;
+      }
+      missCount++;
+      return null;
+    }
+  }
+
+  /**
+   * Caches the edges of {@code cfgRoot}, as computed from the AST as it is now. The edges must have
+   * been computed without traversing inner functions.
+   */
+  void put(Node cfgRoot, EdgeTable edges) {
+    Node changeScope = NodeUtil.getEnclosingChangeScopeRoot(cfgRoot);
+    if (changeScope == null) {
+      return;
+    }
+
+    Entry entry = new Entry(edges, changeScope.getChangeTime());
+    synchronized (this) {
+      entries.put(cfgRoot, entry);
+      if (entries.size() >= evictionSize) {
+        entries.keySet().removeIf(root -> !isAttached(root));
+        evictionSize = Math.max(MIN_EVICTION_SIZE, 2 * entries.size());
+      }
+    }
+  }
+
+  /** Whether the root is still part of a script in the AST. */
+  private static boolean isAttached(Node cfgRoot) {
+    Node script = cfgRoot.isScript() ? cfgRoot : NodeUtil.getEnclosingScript(cfgRoot);
+    return script != null && script.hasParent();
+  }
+
+  /** Drops the graph of a function that has been removed from the AST. */
+  synchronized void remove(Node cfgRoot) {
+    entries.remove(cfgRoot);
+  }
+
+  /** Drops every cached graph. */
+  synchronized void clear() {
+    entries.clear();
+  }
+
+  synchronized int size() {
+    return entries.size();
+  }
+
+  synchronized long getHitCount() {
+    return hitCount;
+  }
+
+  synchronized long getMissCount() {
+    return missCount;
+  }
+
+  private static final class Entry {
+    final EdgeTable edges;
+    final int changeTime;
+
+    Entry(EdgeTable edges, int changeTime) {
+      this.edges = edges;
+      this.changeTime = changeTime;
+    }
+  }
+}
@@ -1168,6 +1168,7 @@ public final class DefaultPassConfig extends PassConfig {
   private final PassFactory suspiciousCode =
       PassFactory.builder()
           .setName("suspiciousCode")
+          .setScriptLocal(true)
           .setInternalFactory(
               (compiler) -> {
                 List<NodeTraversal.Callback> sharedCallbacks = new ArrayList<>();
@@ -1353,6 +1354,7 @@ public final class DefaultPassConfig extends PassConfig {
   private final PassFactory checkJsDocAndEs6Modules =
       PassFactory.builder()
           .setName("checkJsDocAndEs6Modules")
+          .setScriptLocal(true)
           .setInternalFactory(
               (compiler) ->
                   combineChecks(
@@ -1709,7 +1711,7 @@ public final class DefaultPassConfig extends PassConfig {
           .build();
 
   /** Various peephole optimizations. */
-  private static CompilerPass createPeepholeOptimizationsPass(
+  static CompilerPass createPeepholeOptimizationsPass(
       AbstractCompiler compiler, String passName) {
     final boolean late = false;
     final boolean useTypesForOptimization = compiler.getOptions().useTypesForLocalOptimization;
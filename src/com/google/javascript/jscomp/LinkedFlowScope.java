@@ -29,6 +29,11 @@ import com.google.javascript.rhino.jstype.JSType;
 import com.google.javascript.rhino.jstype.StaticTypedRef;
 import com.google.javascript.rhino.jstype.StaticTypedScope;
 import com.google.javascript.rhino.jstype.StaticTypedSlot;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
 import org.jspecify.annotations.Nullable;
 
 /**
@@ -246,13 +251,40 @@ class LinkedFlowScope implements FlowScope {
     return syntacticScope;
   }
 
-  /** Join the two FlowScopes. */
+  /**
+   * Joins any number of FlowScopes.
+   *
+   * <p>The inputs are collected as they come in and joined all at once in {@link #finish}, rather
+   * than pairwise. Most of the state of the predecessors of a CFG node is shared with their common
+   * ancestor, and the persistent maps skip shared subtrees when reconciling, so only the slots that
+   * were inferred differently along some path are looked at, and each of them is joined across all
+   * inputs in a single pass. The result is built once, without the intermediate scopes (and the
+   * irrelevant block-local entries) that pairwise joins used to create.
+   */
   static class FlowScopeJoinOp implements FlowJoiner<FlowScope> {
-    @Nullable LinkedFlowScope result = null;
+    private final List<LinkedFlowScope> inputs = new ArrayList<>();
     final CompilerInputProvider inputProvider;
+    private final @Nullable JoinStatistics statistics;
 
     FlowScopeJoinOp(CompilerInputProvider inputProvider) {
+      this(inputProvider, null);
+    }
+
+    FlowScopeJoinOp(CompilerInputProvider inputProvider, @Nullable JoinStatistics statistics) {
       this.inputProvider = inputProvider;
+      this.statistics = statistics;
+    }
+
+    @Override
+    public void joinFlow(FlowScope input) {
+      LinkedFlowScope linkedInput = (LinkedFlowScope) input;
+      for (LinkedFlowScope previous : inputs) {
+        if (previous.scopes == linkedInput.scopes
+            && previous.functionScope == linkedInput.functionScope) {
+          return;
+        }
+      }
+      inputs.add(linkedInput);
     }
 
     // NOTE(sdh): When joining flow scopes with different syntactic scopes,
@@ -264,58 +296,69 @@ class LinkedFlowScope implements FlowScope {
     // through a CFG node.  In the case of (1), the join result's syntactic
     // scope is immediately replaced with the correct one when we flow through
     // the next node.  In the case of (2), both inputs will always have the
-    // same syntactic scope.  So simply propagating either input's scope is
+    // same syntactic scope.  So simply propagating the common parent scope is
     // perfectly fine.
     @Override
-    public void joinFlow(FlowScope input) {
-      // To join the two scopes, we have to
-      LinkedFlowScope linkedInput = (LinkedFlowScope) input;
-      if (this.result == null) {
-        this.result = linkedInput;
-        return;
-      } else if (this.result.scopes == linkedInput.scopes
-          && this.result.functionScope == linkedInput.functionScope) {
-        return;
+    public FlowScope finish() {
+      if (inputs.size() <= 1) {
+        return inputs.isEmpty() ? null : inputs.get(0);
+      }
+
+      // The result flows from bottom only if every input does, and lives in the deepest scope
+      // that encloses the scopes of all of the inputs that don't.
+      TypedScope common = inputs.get(0).syntacticScope;
+      LinkedFlowScope functionScopeSource = inputs.get(0);
+      for (int i = 1; i < inputs.size(); i++) {
+        LinkedFlowScope input = inputs.get(i);
+        if (functionScopeSource.flowsFromBottom()) {
+          common = input.syntacticScope;
+          functionScopeSource = input;
+        } else if (!input.flowsFromBottom()) {
+          common = common.getCommonParent(input.syntacticScope);
+        }
       }
 
-      // NOTE: it would be nice to put 'null' as the syntactic scope if they're not
-      // equal, but this is not currently feasible.  For joins that occur within a
-      // single CFG node's flow, it's irrelevant, but for joins between separate
-      // CFG nodes, there is *one* place where the syntactic scope is actually used:
-      // when joining more than two scopes, the first two scopes are joined, and
-      // then the join result is joined with the third.  When joining, we look up
-      // the types (and existence) of vars in one scope in the other; so when a var
-      // from the third scope (say, a local) is missing from the join result, it
-      // looks through the syntactic scope before realizing  this.  A quick fix
-      // might be to just check that the scope is non-null before trying to join;
-      // a better long-term fix would be to improve how we do joins to avoid
-      // excessive map entry creation: find a common ancestor, etc.  One
-      // interesting consequence of the current approach is that we may end up
-      // adding irrelevant block-local variables to the joined scope unnecessarily.
-      TypedScope common = getCommonParentDeclarationScope(this.result, linkedInput);
-      this.result =
+      JoinCounter counter = new JoinCounter();
+      LinkedFlowScope result =
           new LinkedFlowScope(
               inputProvider,
-              join(this.result, linkedInput, common),
+              join(inputs, common, counter),
               common,
-              this.result.flowsFromBottom()
-                  ? linkedInput.functionScope
-                  : this.result.functionScope);
+              functionScopeSource.functionScope);
+      if (statistics != null) {
+        statistics.record(counter.slotsMerged);
+      }
+      return result;
     }
+  }
 
-    @Override
-    public FlowScope finish() {
-      return this.result;
+  /**
+   * Counts the work done by {@link FlowScopeJoinOp}s, for the tracer report.
+   *
+   * <p>This class is thread-safe, so that functions can be type checked in parallel.
+   */
+  static final class JoinStatistics {
+    private final LongAdder joinCount = new LongAdder();
+    private final LongAdder slotsMergedCount = new LongAdder();
+
+    void record(int slotsMerged) {
+      joinCount.increment();
+      slotsMergedCount.add(slotsMerged);
+    }
+
+    /** Returns the number of joins of two or more distinct scopes. */
+    long getJoinCount() {
+      return joinCount.sum();
     }
-  }
 
-  static TypedScope getCommonParentDeclarationScope(LinkedFlowScope left, LinkedFlowScope right) {
-    if (left.flowsFromBottom()) {
-      return right.syntacticScope;
-    } else if (right.flowsFromBottom()) {
-      return left.syntacticScope;
+    /** Returns the total number of slots whose types had to be joined. */
+    long getSlotsMergedCount() {
+      return slotsMergedCount.sum();
     }
-    return left.syntacticScope.getCommonParent(right.syntacticScope);
+  }
+
+  private static final class JoinCounter {
+    int slotsMerged = 0;
   }
 
   @Override
@@ -358,78 +401,129 @@ class LinkedFlowScope implements FlowScope {
   }
 
   private static PMap<TypedScope, OverlayScope> join(
-      LinkedFlowScope linkedA, LinkedFlowScope linkedB, TypedScope commonParent) {
-    return linkedA
-        .trimScopes(commonParent)
-        .reconcile(
-            linkedB.trimScopes(commonParent),
-            (scopeKey, scopeA, scopeB) -> {
-              PMap<String, OverlaySlot> slotsA = scopeA != null ? scopeA.slots : EMPTY_SLOTS;
-              PMap<String, OverlaySlot> slotsB = scopeB != null ? scopeB.slots : EMPTY_SLOTS;
-              // TODO(sdh): Simplify this logic: we want the best non-bottom scope we can get,
-              // for the purpose of (a) passing to the joined OverlayScope constructor, and
-              // (b) joining types only present in one scope.
-              TypedScope typedScopeA =
-                  linkedA.flowsFromBottom() ? null : scopeA != null ? scopeA.scope : scopeB.scope;
-              TypedScope typedScopeB =
-                  linkedB.flowsFromBottom() ? null : scopeB != null ? scopeB.scope : scopeA.scope;
-              TypedScope bestScope = typedScopeA != null ? typedScopeA : typedScopeB;
-              bestScope =
-                  bestScope != null ? bestScope : scopeA != null ? scopeA.scope : scopeB.scope;
-              return new OverlayScope(
-                  bestScope,
-                  slotsA.reconcile(
-                      slotsB,
-                      (slotKey, slotA, slotB) -> {
-                        // There are 5 different join cases:
-                        // 1) The type is present in joinedScopeA, not in joinedScopeB,
-                        //    and not in functionScope. Just use the one in A.
-                        // 2) The type is present in joinedScopeB, not in joinedScopeA,
-                        //    and not in functionScope. Just use the one in B.
-                        // 3) The type is present in functionScope and joinedScopeA, but
-                        //    not in joinedScopeB. Join the two types.
-                        // 4) The type is present in functionScope and joinedScopeB, but
-                        //    not in joinedScopeA. Join the two types.
-                        // 5) The type is present in joinedScopeA and joinedScopeB. Join
-                        //    the two types.
-                        String name = slotA != null ? slotA.getName() : slotB.getName();
-                        if (slotB == null || slotB.getType() == null) {
-                          TypedVar fnSlot = typedScopeB != null ? typedScopeB.getSlot(name) : null;
-                          JSType fnSlotType = fnSlot != null ? fnSlot.getType() : null;
-                          if (fnSlotType == null || identical(fnSlotType, slotA.getType())) {
-                            // Case #1
-                            return slotA;
-                          } else {
-                            // Case #3
-                            JSType joinedType = slotA.getType().getLeastSupertype(fnSlotType);
-                            return identical(joinedType, slotA.getType())
-                                ? slotA
-                                : new OverlaySlot(name, joinedType);
-                          }
-                        } else if (slotA == null || slotA.getType() == null) {
-                          TypedVar fnSlot = typedScopeA != null ? typedScopeA.getSlot(name) : null;
-                          JSType fnSlotType = fnSlot != null ? fnSlot.getType() : null;
-                          if (fnSlotType == null || identical(fnSlotType, slotB.getType())) {
-                            // Case #2
-                            return slotB;
-                          } else {
-                            // Case #4
-                            JSType joinedType = slotB.getType().getLeastSupertype(fnSlotType);
-                            return identical(joinedType, slotB.getType())
-                                ? slotB
-                                : new OverlaySlot(name, joinedType);
-                          }
-                        }
-                        // Case #5
-                        if (identical(slotA.getType(), slotB.getType())) {
-                          return slotA;
-                        }
-                        JSType joinedType = slotA.getType().getLeastSupertype(slotB.getType());
-                        return identical(joinedType, slotA.getType())
-                            ? slotA
-                            : new OverlaySlot(name, joinedType);
-                      }));
-            });
+      List<LinkedFlowScope> inputs, TypedScope commonParent, JoinCounter counter) {
+    List<PMap<TypedScope, OverlayScope>> trimmed = new ArrayList<>(inputs.size());
+    Set<TypedScope> keys = new LinkedHashSet<>();
+    for (LinkedFlowScope input : inputs) {
+      PMap<TypedScope, OverlayScope> scopes = input.trimScopes(commonParent);
+      trimmed.add(scopes);
+      for (TypedScope key : scopes.keys()) {
+        keys.add(key);
+      }
+    }
+
+    PMap<TypedScope, OverlayScope> result = trimmed.get(0);
+    for (TypedScope key : keys) {
+      OverlayScope base = result.get(key);
+      boolean diverged = false;
+      for (int i = 1; i < trimmed.size(); i++) {
+        if (trimmed.get(i).get(key) != base) {
+          diverged = true;
+          break;
+        }
+      }
+      if (!diverged) {
+        continue;
+      }
+
+      // Inputs share the parts of their maps that are unchanged since their common ancestor, which
+      // reconcile skips without looking at, so this only visits the slots that actually diverged.
+      PMap<String, OverlaySlot> baseSlots = base != null ? base.slots : EMPTY_SLOTS;
+      Set<String> divergedNames = new LinkedHashSet<>();
+      for (int i = 1; i < trimmed.size(); i++) {
+        OverlayScope other = trimmed.get(i).get(key);
+        PMap<String, OverlaySlot> otherSlots = other != null ? other.slots : EMPTY_SLOTS;
+        if (otherSlots != baseSlots) {
+          baseSlots.reconcile(
+              otherSlots,
+              (name, slotA, slotB) -> {
+                divergedNames.add(name);
+                return slotA != null ? slotA : slotB;
+              });
+        }
+      }
+
+      PMap<String, OverlaySlot> slots = baseSlots;
+      for (String name : divergedNames) {
+        OverlaySlot joined = joinSlot(inputs, trimmed, key, name);
+        if (joined != null && joined != slots.get(name)) {
+          slots = slots.plus(name, joined);
+        }
+      }
+      counter.slotsMerged += divergedNames.size();
+      if (base == null || slots != base.slots) {
+        result = result.plus(key, new OverlayScope(key, slots));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Joins the types of one slot across all inputs, folding them in input order.
+   *
+   * <p>An input that has no inferred type for the slot contributes the type the slot has in its
+   * declaring scope, unless that input flows from bottom. If no input has a type for the slot, it
+   * is left out of the result.
+   */
+  private static @Nullable OverlaySlot joinSlot(
+      List<LinkedFlowScope> inputs,
+      List<PMap<TypedScope, OverlayScope>> trimmed,
+      TypedScope key,
+      String name) {
+    JSType declaredType = null;
+    boolean declaredTypeLookedUp = false;
+    OverlaySlot joined = null;
+    // Whether the inputs folded into the result so far include one that doesn't flow from bottom.
+    boolean joinedFromReachable = false;
+    for (int i = 0; i < inputs.size(); i++) {
+      OverlayScope overlay = trimmed.get(i).get(key);
+      OverlaySlot slot = overlay != null ? overlay.slots.get(name) : null;
+      if (slot != null && slot.getType() == null) {
+        slot = null;
+      }
+      boolean reachable = !inputs.get(i).flowsFromBottom();
+
+      JSType otherType;
+      if (joined == null) {
+        if (slot == null) {
+          joinedFromReachable |= reachable;
+          continue;
+        }
+        joined = slot;
+        otherType = null;
+        if (joinedFromReachable) {
+          if (!declaredTypeLookedUp) {
+            declaredType = getDeclaredType(key, name);
+            declaredTypeLookedUp = true;
+          }
+          otherType = declaredType;
+        }
+      } else if (slot != null) {
+        otherType = slot.getType();
+      } else if (reachable) {
+        if (!declaredTypeLookedUp) {
+          declaredType = getDeclaredType(key, name);
+          declaredTypeLookedUp = true;
+        }
+        otherType = declaredType;
+      } else {
+        otherType = null;
+      }
+      joinedFromReachable |= reachable;
+
+      if (otherType != null && !identical(otherType, joined.getType())) {
+        JSType joinedType = joined.getType().getLeastSupertype(otherType);
+        if (!identical(joinedType, joined.getType())) {
+          joined = new OverlaySlot(name, joinedType);
+        }
+      }
+    }
+    return joined;
+  }
+
+  private static @Nullable JSType getDeclaredType(TypedScope scope, String name) {
+    TypedVar var = scope.getSlot(name);
+    return var != null ? var.getType() : null;
   }
 
   private static class OverlayScope {
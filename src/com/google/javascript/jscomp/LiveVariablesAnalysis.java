@@ -18,9 +18,7 @@ package com.google.javascript.jscomp;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 
-import com.google.javascript.jscomp.ControlFlowGraph.Branch;
 import com.google.javascript.jscomp.NodeUtil.AllVarsDeclaredInFunction;
-import com.google.javascript.jscomp.graph.DiGraph.DiGraphEdge;
 import com.google.javascript.jscomp.graph.LatticeElement;
 import com.google.javascript.rhino.Node;
 import java.util.BitSet;
@@ -45,24 +43,10 @@ import org.jspecify.annotations.Nullable;
  * #getEscapedLocals()}.
  */
 class LiveVariablesAnalysis
-    extends DataFlowAnalysis<Node, LiveVariablesAnalysis.LiveVariableLattice> {
+    extends BitVectorDataFlowAnalysis<Node, LiveVariablesAnalysis.LiveVariableLattice> {
 
   static final int MAX_VARIABLES_TO_ANALYZE = 100;
 
-  private final class LiveVariableJoinOp implements FlowJoiner<LiveVariableLattice> {
-    final LiveVariableLattice result = new LiveVariableLattice(orderedVars.size());
-
-    @Override
-    public void joinFlow(LiveVariableLattice x) {
-      this.result.liveSet.or(x.liveSet);
-    }
-
-    @Override
-    public LiveVariableLattice finish() {
-      return result;
-    }
-  }
-
   /**
    * The lattice that stores the liveness of all local variables at a given point in the program.
    * The whole lattice is the power set of all local variables and a variable is live if it is in
@@ -71,16 +55,8 @@ class LiveVariablesAnalysis
   static class LiveVariableLattice implements LatticeElement {
     private final BitSet liveSet;
 
-    /**
-     * @param numVars Number of all local variables.
-     */
-    private LiveVariableLattice(int numVars) {
-      this.liveSet = new BitSet(numVars);
-    }
-
-    private LiveVariableLattice(LiveVariableLattice other) {
-      checkNotNull(other);
-      this.liveSet = (BitSet) other.liveSet.clone();
+    private LiveVariableLattice(BitSet liveSet) {
+      this.liveSet = checkNotNull(liveSet);
     }
 
     @Override
@@ -163,7 +139,7 @@ class LiveVariablesAnalysis
     this.orderedVars = allVarsDeclaredInFunction.getAllVariablesInOrder();
     this.allVarsInFn = allVarsDeclaredInFunction.getAllVariables();
 
-    computeEscaped(jsScope, escaped, compiler, scopeCreator, allVarsInFn);
+    DataFlowAnalysis.computeEscaped(jsScope, escaped, compiler, scopeCreator, allVarsInFn);
 
     addScopeVariables();
   }
@@ -203,39 +179,28 @@ class LiveVariablesAnalysis
   }
 
   @Override
-  LiveVariableLattice createEntryLattice() {
-    return new LiveVariableLattice(orderedVars.size());
+  int getBitCount() {
+    return orderedVars.size();
   }
 
   @Override
-  LiveVariableLattice createInitialEstimateLattice() {
-    return new LiveVariableLattice(orderedVars.size());
+  LiveVariableLattice createLattice(BitSet bits) {
+    return new LiveVariableLattice(bits);
   }
 
   @Override
-  FlowJoiner<LiveVariableLattice> createFlowJoiner() {
-    return new LiveVariableJoinOp();
+  void computeGenKillForNode(Node node, boolean conditional, BitSet gen, BitSet kill) {
+    // L_in = L_out - Kill + Gen
+    computeGenKill(node, gen, kill, conditional);
   }
 
+  /**
+   * Escaped variables are left out of the gen and kill sets, and the escaped set only grows: a use
+   * of `arguments` escapes all the parameters.
+   */
   @Override
-  LiveVariableLattice flowThrough(Node node, LiveVariableLattice input) {
-    final BitSet gen = new BitSet(input.liveSet.size());
-    final BitSet kill = new BitSet(input.liveSet.size());
-
-    // Make kills conditional if the node can end abruptly by an exception.
-    boolean conditional = false;
-    List<? extends DiGraphEdge<Node, Branch>> edgeList = getCfg().getOutEdges(node);
-    for (DiGraphEdge<Node, Branch> edge : edgeList) {
-      if (Branch.ON_EX.equals(edge.getValue())) {
-        conditional = true;
-      }
-    }
-    computeGenKill(node, gen, kill, conditional);
-    LiveVariableLattice result = new LiveVariableLattice(input);
-    // L_in = L_out - Kill + Gen
-    result.liveSet.andNot(kill);
-    result.liveSet.or(gen);
-    return result;
+  int getGenKillStateVersion() {
+    return escaped.size();
   }
 
   /**
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.auto.value.AutoValue;
+import com.google.common.collect.ImmutableList;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.google.javascript.jscomp.parsing.Config;
+import com.google.javascript.jscomp.parsing.ParserRunner.ParseResult;
+import com.google.javascript.jscomp.parsing.parser.FeatureSet;
+import com.google.javascript.jscomp.parsing.parser.trees.Comment;
+import com.google.javascript.rhino.JSDocInfo;
+import com.google.javascript.rhino.Node;
+import com.google.javascript.rhino.StaticSourceFile.SourceKind;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Caches parse results across {@link Compiler} instances so that recompiling a program only parses
+ * the inputs whose contents changed.
+ *
+ * <p>Entries are keyed by the file name, kind, parser configuration and a SHA-256 fingerprint of
+ * the file contents. Only parses that reported no errors or warnings are cached, since a cache hit
+ * doesn't replay any diagnostics. Every lookup hands out a fresh deep copy of the cached tree,
+ * including JSDoc type expressions, so that later passes are free to mutate it.
+ *
+ * <p>Only parsing is skipped. Check results are not reused, so every compilation still runs all
+ * of its checks over every input, not just over the changed inputs and their dependents.
+ *
+ * <p>This class is thread-safe.
+ */
+public final class ParsedAstCache {
+
+  private final Map<Key, Entry> entries;
+  private long hitCount = 0;
+  private long missCount = 0;
+
+  /**
+   * @param maxEntries the maximum number of parsed files to retain. The least recently used entry
+   *     is evicted once the cache grows beyond this size.
+   */
+  public ParsedAstCache(int maxEntries) {
+    checkArgument(maxEntries > 0, "maxEntries must be positive: %s", maxEntries);
+    this.entries =
+        new LinkedHashMap<Key, Entry>(16, 0.75f, /* accessOrder= */ true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+            return size() > maxEntries;
+          }
+        };
+  }
+
+  /** Returns the cache key for parsing {@code code} as the contents of {@code file}. */
+  static Key keyFor(SourceFile file, String code, Config config) {
+    return new AutoValue_ParsedAstCache_Key(
+        file.getName(), file.getKind(), Hashing.sha256().hashString(code, UTF_8), config);
+  }
+
+  /**
+   * Returns a copy of the cached parse result for {@code key}, attributed to {@code file}, or null
+   * if nothing with the same contents and configuration has been cached.
+   */
+  @Nullable ParseResult get(Key key, SourceFile file) {
+    Entry entry;
+    synchronized (this) {
+      entry = entries.get(key);
+      if (entry == null) {
+        missCount++;
+        return null;
+      }
+      hitCount++;
+    }
+    // Cached trees are never mutated, so they can be copied without holding the lock. This keeps
+    // parallel parses that hit the cache from waiting on each other.
+    return new ParseResult(
+        copyTree(entry.root, file), entry.comments, entry.features, entry.sourceMapURL);
+  }
+
+  /** Caches a successful parse result under {@code key}. */
+  void put(Key key, ParseResult result) {
+    if (result.ast == null) {
+      return;
+    }
+    Entry entry =
+        new Entry(
+            copyTree(result.ast, null),
+            ImmutableList.copyOf(result.comments),
+            result.features,
+            result.sourceMapURL);
+    synchronized (this) {
+      entries.put(key, entry);
+    }
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  public synchronized long getHitCount() {
+    return hitCount;
+  }
+
+  public synchronized long getMissCount() {
+    return missCount;
+  }
+
+  public synchronized void clear() {
+    entries.clear();
+  }
+
+  /**
+   * Deep copies {@code root}, pointing every node of the copy at {@code file}.
+   *
+   * <p>Cached trees are stored without a source file, so that they don't retain the {@link
+   * SourceFile} (and its code) of the compilation that first parsed them.
+   */
+  private static Node copyTree(Node root, @Nullable SourceFile file) {
+    Node copy = root.cloneTree(/* cloneTypeExprs= */ true);
+    copy.setStaticSourceFile(file);
+    NodeUtil.visitPreOrder(
+        copy,
+        (Node n) -> {
+          setStaticSourceFileFrom(n, copy);
+          JSDocInfo info = n.getJSDocInfo();
+          if (info != null) {
+            for (Node typeNode : info.getTypeNodes()) {
+              NodeUtil.visitPreOrder(typeNode, (Node t) -> setStaticSourceFileFrom(t, copy));
+            }
+          }
+        });
+    return copy;
+  }
+
+  private static void setStaticSourceFileFrom(Node n, Node root) {
+    if (n != root) {
+      n.setStaticSourceFileFrom(root);
+    }
+  }
+
+  @AutoValue
+  abstract static class Key {
+    abstract String fileName();
+
+    abstract SourceKind kind();
+
+    abstract HashCode contentHash();
+
+    abstract Config config();
+  }
+
+  private static final class Entry {
+    final Node root;
+    final ImmutableList<Comment> comments;
+    final FeatureSet features;
+    final @Nullable String sourceMapURL;
+
+    Entry(
+        Node root,
+        ImmutableList<Comment> comments,
+        FeatureSet features,
+        @Nullable String sourceMapURL) {
+      this.root = root;
+      this.comments = comments;
+      this.features = features;
+      this.sourceMapURL = sourceMapURL;
+    }
+  }
+}
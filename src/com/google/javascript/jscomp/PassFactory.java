@@ -39,6 +39,17 @@ public abstract class PassFactory {
   /** Whether this factory must or must not appear in a {@link PhaseOptimizer} loop. */
   public abstract boolean isRunInFixedPointLoop();
 
+  /**
+   * Whether the pass looks at a single SCRIPT at a time and only reports diagnostics, without
+   * modifying the AST or any other compiler state.
+   *
+   * <p>{@link PhaseOptimizer} may run such passes concurrently over individual scripts. Each
+   * instance of the pass is then given the externs ROOT and a single source SCRIPT. Like {@link
+   * CombinedCompilerPass}, such a pass must only look at the sources, and must stop once {@link
+   * AbstractCompiler#hasHaltingErrors} is true.
+   */
+  public abstract boolean isScriptLocal();
+
   /**
    * A simple factory function for creating actual pass instances.
    *
@@ -59,6 +70,8 @@ public abstract class PassFactory {
 
     public abstract Builder setRunInFixedPointLoop(boolean b);
 
+    public abstract Builder setScriptLocal(boolean b);
+
     public abstract Builder setCondition(Function<CompilerOptions, Boolean> cond);
 
     public abstract Builder setInternalFactory(
@@ -70,6 +83,10 @@ public abstract class PassFactory {
     public final PassFactory build() {
       PassFactory result = autoBuild();
       checkState(!result.getName().isEmpty());
+      checkState(
+          !(result.isScriptLocal() && result.isRunInFixedPointLoop()),
+          "Script-local passes don't change the AST, so can't be run in a loop: %s",
+          result.getName());
       return result;
     }
   }
@@ -77,6 +94,7 @@ public abstract class PassFactory {
   public static Builder builder() {
     return new AutoValue_PassFactory.Builder()
         .setRunInFixedPointLoop(false)
+        .setScriptLocal(false)
         .setCondition((o) -> true);
   }
 
@@ -21,15 +21,19 @@ import static com.google.common.base.Preconditions.checkState;
 import static com.google.javascript.jscomp.NodeUtil.estimateNumLines;
 import static com.google.javascript.jscomp.base.JSCompStrings.lines;
 import static java.lang.Math.max;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Comparator.comparingLong;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableMultiset;
+import com.google.gson.stream.JsonWriter;
 import com.google.javascript.jscomp.CompilerOptions.TracerMode;
 import com.google.javascript.jscomp.base.format.SimpleFormat;
 import com.google.javascript.rhino.Node;
 import com.google.javascript.rhino.Token;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.io.PrintStream;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
@@ -37,10 +41,15 @@ import java.util.Deque;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.function.Function;
 
 /**
  * A PerformanceTracker collects statistics about the runtime of each pass, and how much a pass
  * impacts the size of the compiled output, before and after gzip.
+ *
+ * <p>For each pass it also records the bytes allocated and the CPU time used by the thread running
+ * it, measured with {@link java.lang.management.ThreadMXBean}, and the garbage collections that
+ * happened while it ran. Work that a pass hands off to other threads isn't attributed to it.
  */
 public final class PerformanceTracker {
   private static final int DEFAULT_WHEN_SIZE_UNTRACKED = -1;
@@ -63,6 +72,10 @@ public final class PerformanceTracker {
   private long endTime;
   private int passesRuntime = 0;
   private int maxMem = 0;
+  private long allocatedBytes = 0;
+  private long cpuTimeNanos = 0;
+  private long gcCount = 0;
+  private long gcTime = 0;
   private int runs = 0;
   private int changes = 0;
   private int loopRuns = 0;
@@ -107,7 +120,12 @@ public final class PerformanceTracker {
   }
 
   void recordPassStart(String passName, boolean isOneTime) {
-    this.currentPass.push(new Stats(passName, isOneTime));
+    Stats logStats = new Stats(passName, isOneTime);
+    logStats.startAllocatedBytes = Platform.currentThreadAllocatedBytes();
+    logStats.startCpuTimeNanos = Platform.currentThreadCpuTimeNanos();
+    logStats.startGcCount = Platform.garbageCollectionCount();
+    logStats.startGcTime = Platform.garbageCollectionTimeMillis();
+    this.currentPass.push(logStats);
     // In Compiler, toSource may be called after every pass X. We don't want it
     // to reset the handler, because recordPassStop for pass X has not been
     // called, so we are falsely logging that pass X didn't make changes.
@@ -151,6 +169,12 @@ public final class PerformanceTracker {
     // Update fields that aren't related to code size
     logStats.runtime = runtime;
     logStats.allocMem = allocMem;
+    logStats.allocatedBytes =
+        difference(logStats.startAllocatedBytes, Platform.currentThreadAllocatedBytes());
+    logStats.cpuTimeNanos =
+        difference(logStats.startCpuTimeNanos, Platform.currentThreadCpuTimeNanos());
+    logStats.gcCount = difference(logStats.startGcCount, Platform.garbageCollectionCount());
+    logStats.gcTime = difference(logStats.startGcTime, Platform.garbageCollectionTimeMillis());
     logStats.runs = 1;
     if (this.codeChange.hasCodeChanged()) {
       logStats.changes = 1;
@@ -162,6 +186,11 @@ public final class PerformanceTracker {
     }
   }
 
+  /** Returns {@code end - start}, or 0 if either measurement isn't available. */
+  private static long difference(long start, long end) {
+    return start < 0 || end < 0 ? 0 : max(0, end - start);
+  }
+
   private void recordParsingStop(Stats logStats) {
     if (tracksAstManifest()) {
       populateAstManifest();
@@ -217,6 +246,10 @@ public final class PerformanceTracker {
     return (int) (bytes / (1024 * 1024));
   }
 
+  private static long nanosToMillis(long nanos) {
+    return nanos / 1_000_000;
+  }
+
   private int getAllocatedMegabytes() {
     return bytesToMB(Platform.totalMemory() - Platform.freeMemory());
   }
@@ -299,6 +332,10 @@ public final class PerformanceTracker {
       Stats stats = entry.getValue();
       this.passesRuntime = (int) (this.passesRuntime + stats.runtime);
       this.maxMem = max(this.maxMem, stats.allocMem);
+      this.allocatedBytes += stats.allocatedBytes;
+      this.cpuTimeNanos += stats.cpuTimeNanos;
+      this.gcCount += stats.gcCount;
+      this.gcTime += stats.gcTime;
       this.runs += stats.runs;
       this.changes += stats.changes;
       if (!stats.isOneTime) {
@@ -323,6 +360,10 @@ public final class PerformanceTracker {
           tmpPassSummary.computeIfAbsent(passName, (String k) -> new Stats(k, logStat.isOneTime));
       entry.runtime += logStat.runtime;
       entry.allocMem = max(entry.allocMem, logStat.allocMem);
+      entry.allocatedBytes += logStat.allocatedBytes;
+      entry.cpuTimeNanos += logStat.cpuTimeNanos;
+      entry.gcCount += logStat.gcCount;
+      entry.gcTime += logStat.gcTime;
       entry.runs++;
       entry.changes += logStat.changes;
       entry.astDiff += logStat.astDiff;
@@ -358,6 +399,40 @@ public final class PerformanceTracker {
     this.ambiguatePropertiesSummary = summary;
   }
 
+  private long subtypeCacheHits = 0;
+  private long subtypeCacheMisses = 0;
+
+  /** Records how many subtyping checks the type registry answered from its result cache. */
+  public void setSubtypeCacheStats(long hits, long misses) {
+    this.subtypeCacheHits = hits;
+    this.subtypeCacheMisses = misses;
+  }
+
+  private long flowScopeJoins = 0;
+  private long flowScopeSlotsMerged = 0;
+
+  /** Records how many flow scope joins type inference did, and how many slots they merged. */
+  public void setFlowScopeJoinStats(long joins, long slotsMerged) {
+    this.flowScopeJoins = joins;
+    this.flowScopeSlotsMerged = slotsMerged;
+  }
+
+  private long stringPoolSize = 0;
+  private long stringPoolLookups = 0;
+  private long stringPoolHits = 0;
+
+  /**
+   * Records the size of the string pool shared by all ASTs, and how many lookups this compilation
+   * made in it and how many of those found a string already in it. The pool outlives compilations,
+   * so its size includes strings of earlier ones, and the lookups include those of any other
+   * compilation running in the same JVM at the same time.
+   */
+  public void setStringPoolStats(long size, long lookups, long hits) {
+    this.stringPoolSize = size;
+    this.stringPoolLookups = lookups;
+    this.stringPoolHits = hits;
+  }
+
   /**
    * Prints a summary, which contains aggregate stats for all runs of each pass and a log, which
    * contains stats for each individual run.
@@ -375,6 +450,10 @@ public final class PerformanceTracker {
             "Wall time(ms): " + (this.endTime - this.startTime),
             "Passes runtime(ms): " + this.passesRuntime,
             "Max mem usage (measured after each pass)(MB): " + this.maxMem,
+            "Passes allocated memory(MB): " + bytesToMB(this.allocatedBytes),
+            "Passes CPU time(ms): " + nanosToMillis(this.cpuTimeNanos),
+            "#GCs during passes: " + this.gcCount,
+            "GC time during passes(ms): " + this.gcTime,
             "#Runs: " + this.runs,
             "#Changing runs: " + this.changes,
             "#Loopable runs: " + this.loopRuns,
@@ -387,7 +466,14 @@ public final class PerformanceTracker {
             "Estimated GzSize(bytes): " + this.gzCodeSize,
             "",
             "DisambiguateProperties: " + this.disambiguatePropertiesSummary,
-            "AmbiguateProperties: " + this.ambiguatePropertiesSummary));
+            "AmbiguateProperties: " + this.ambiguatePropertiesSummary,
+            "Subtype cache hits: " + this.subtypeCacheHits,
+            "Subtype cache misses: " + this.subtypeCacheMisses,
+            "Flow scope joins: " + this.flowScopeJoins,
+            "Flow scope slots merged: " + this.flowScopeSlotsMerged,
+            "String pool size: " + this.stringPoolSize,
+            "String pool lookups: " + this.stringPoolLookups,
+            "String pool hits: " + this.stringPoolHits));
 
     output.println(
         lines(
@@ -402,7 +488,8 @@ public final class PerformanceTracker {
         lines(
             "",
             "Summary:",
-            "pass,runtime,allocMem,runs,changingRuns,astReduction,reduction,gzReduction"));
+            "pass,runtime,allocMem,runs,changingRuns,astReduction,reduction,gzReduction,"
+                + "allocatedBytes,cpuTime,gcCount,gcTime"));
     this.passSummary.entrySet().stream()
         .sorted(comparingLong((e) -> e.getValue().runtime))
         .map(
@@ -410,7 +497,7 @@ public final class PerformanceTracker {
               String key = entry.getKey();
               Stats stats = entry.getValue();
               return SimpleFormat.format(
-                  "%s,%d,%d,%d,%d,%d,%d,%d",
+                  "%s,%d,%d,%d,%d,%d,%d,%d,%d,%d,%d,%d",
                   key,
                   stats.runtime,
                   stats.allocMem,
@@ -418,7 +505,11 @@ public final class PerformanceTracker {
                   stats.changes,
                   stats.astDiff,
                   stats.diff,
-                  stats.gzDiff);
+                  stats.gzDiff,
+                  stats.allocatedBytes,
+                  nanosToMillis(stats.cpuTimeNanos),
+                  stats.gcCount,
+                  stats.gcTime);
             })
         .forEach(output::println);
 
@@ -426,11 +517,12 @@ public final class PerformanceTracker {
         lines(
             "",
             "Log:",
-            "pass,runtime,allocMem,codeChanged,astReduction,reduction,gzReduction,astSize,size,gzSize"));
+            "pass,runtime,allocMem,codeChanged,astReduction,reduction,gzReduction,astSize,size,"
+                + "gzSize,allocatedBytes,cpuTime,gcCount,gcTime"));
     for (Stats stats : this.log) {
       output.print(
           SimpleFormat.format(
-              "%s,%d,%d,%b,%d,%d,%d,%d,%d,%d\n",
+              "%s,%d,%d,%b,%d,%d,%d,%d,%d,%d,%d,%d,%d,%d\n",
               stats.pass,
               stats.runtime,
               stats.allocMem,
@@ -440,7 +532,11 @@ public final class PerformanceTracker {
               stats.gzDiff,
               stats.astSize,
               stats.size,
-              stats.gzSize));
+              stats.gzSize,
+              stats.allocatedBytes,
+              nanosToMillis(stats.cpuTimeNanos),
+              stats.gcCount,
+              stats.gcTime));
     }
 
     if (this.astManifest != null) {
@@ -461,6 +557,152 @@ public final class PerformanceTracker {
     output.flush();
   }
 
+  /**
+   * Writes the per-pass statistics as a JSON object with a {@code summary} array, which holds the
+   * aggregate stats for all runs of each pass, and a {@code log} array, which holds the stats for
+   * each individual run.
+   */
+  public void outputJsonReport(PrintStream output) throws IOException {
+    calcTotalStats();
+    JsonWriter jsonWriter = new JsonWriter(new OutputStreamWriter(output, UTF_8));
+    jsonWriter.setIndent("  ");
+    jsonWriter.beginObject();
+    jsonWriter.name("startTime").value(this.startTime);
+    jsonWriter.name("endTime").value(this.endTime);
+    jsonWriter.name("passesRuntime").value(this.passesRuntime);
+    jsonWriter.name("allocatedBytes").value(this.allocatedBytes);
+    jsonWriter.name("cpuTime").value(nanosToMillis(this.cpuTimeNanos));
+    jsonWriter.name("gcCount").value(this.gcCount);
+    jsonWriter.name("gcTime").value(this.gcTime);
+    jsonWriter.name("subtypeCacheHits").value(this.subtypeCacheHits);
+    jsonWriter.name("subtypeCacheMisses").value(this.subtypeCacheMisses);
+    jsonWriter.name("flowScopeJoins").value(this.flowScopeJoins);
+    jsonWriter.name("flowScopeSlotsMerged").value(this.flowScopeSlotsMerged);
+    jsonWriter.name("stringPoolSize").value(this.stringPoolSize);
+    jsonWriter.name("stringPoolLookups").value(this.stringPoolLookups);
+    jsonWriter.name("stringPoolHits").value(this.stringPoolHits);
+    jsonWriter.name("summary").beginArray();
+    for (Stats stats : this.passSummary.values()) {
+      writeJsonStats(jsonWriter, stats);
+    }
+    jsonWriter.endArray();
+    jsonWriter.name("log").beginArray();
+    for (Stats stats : this.log) {
+      writeJsonStats(jsonWriter, stats);
+    }
+    jsonWriter.endArray();
+    jsonWriter.endObject();
+    // Don't close the writer, which would close the output.
+    jsonWriter.flush();
+    output.println();
+    output.flush();
+  }
+
+  private static void writeJsonStats(JsonWriter jsonWriter, Stats stats) throws IOException {
+    jsonWriter.beginObject();
+    jsonWriter.name("pass").value(stats.pass);
+    jsonWriter.name("isOneTime").value(stats.isOneTime);
+    jsonWriter.name("runs").value(stats.runs);
+    jsonWriter.name("changes").value(stats.changes);
+    jsonWriter.name("runtime").value(stats.runtime);
+    jsonWriter.name("cpuTime").value(nanosToMillis(stats.cpuTimeNanos));
+    jsonWriter.name("allocatedBytes").value(stats.allocatedBytes);
+    jsonWriter.name("gcCount").value(stats.gcCount);
+    jsonWriter.name("gcTime").value(stats.gcTime);
+    jsonWriter.name("astReduction").value(stats.astDiff);
+    jsonWriter.name("reduction").value(stats.diff);
+    jsonWriter.name("gzReduction").value(stats.gzDiff);
+    jsonWriter.endObject();
+  }
+
+  /**
+   * Writes the aggregate stats for all runs of each pass in the OpenMetrics text format, with one
+   * sample per pass for each metric, labelled with the pass name.
+   */
+  public void outputOpenMetricsReport(PrintStream output) {
+    calcTotalStats();
+    writeOpenMetricsCounter(
+        output, "jscomp_pass_runs", "", "Number of times the pass ran.", (s) -> s.runs);
+    writeOpenMetricsCounter(
+        output,
+        "jscomp_pass_runtime_seconds",
+        "seconds",
+        "Wall time spent in the pass.",
+        (s) -> s.runtime / 1000.0);
+    writeOpenMetricsCounter(
+        output,
+        "jscomp_pass_cpu_seconds",
+        "seconds",
+        "CPU time used by the thread running the pass.",
+        (s) -> s.cpuTimeNanos / 1e9);
+    writeOpenMetricsCounter(
+        output,
+        "jscomp_pass_allocated_bytes",
+        "bytes",
+        "Heap memory allocated by the thread running the pass.",
+        (s) -> s.allocatedBytes);
+    writeOpenMetricsCounter(
+        output,
+        "jscomp_pass_gc_collections",
+        "",
+        "Garbage collections that happened while the pass ran.",
+        (s) -> s.gcCount);
+    writeOpenMetricsCounter(
+        output,
+        "jscomp_pass_gc_seconds",
+        "seconds",
+        "Time spent in garbage collections that happened while the pass ran.",
+        (s) -> s.gcTime / 1000.0);
+    output.println("# TYPE jscomp_subtype_cache_hits counter");
+    output.println("# HELP jscomp_subtype_cache_hits Subtyping checks answered from the cache.");
+    output.println("jscomp_subtype_cache_hits_total " + this.subtypeCacheHits);
+    output.println("# TYPE jscomp_subtype_cache_misses counter");
+    output.println("# HELP jscomp_subtype_cache_misses Cacheable subtyping checks that ran.");
+    output.println("jscomp_subtype_cache_misses_total " + this.subtypeCacheMisses);
+    output.println("# TYPE jscomp_flow_scope_joins counter");
+    output.println("# HELP jscomp_flow_scope_joins Joins of two or more distinct flow scopes.");
+    output.println("jscomp_flow_scope_joins_total " + this.flowScopeJoins);
+    output.println("# TYPE jscomp_flow_scope_slots_merged counter");
+    output.println("# HELP jscomp_flow_scope_slots_merged Slots merged by flow scope joins.");
+    output.println("jscomp_flow_scope_slots_merged_total " + this.flowScopeSlotsMerged);
+    output.println("# TYPE jscomp_string_pool_size gauge");
+    output.println("# HELP jscomp_string_pool_size Strings in the pool shared by all ASTs.");
+    output.println("jscomp_string_pool_size " + this.stringPoolSize);
+    output.println("# TYPE jscomp_string_pool_lookups counter");
+    output.println("# HELP jscomp_string_pool_lookups Lookups in the string pool.");
+    output.println("jscomp_string_pool_lookups_total " + this.stringPoolLookups);
+    output.println("# TYPE jscomp_string_pool_hits counter");
+    output.println("# HELP jscomp_string_pool_hits Lookups that found the string in the pool.");
+    output.println("jscomp_string_pool_hits_total " + this.stringPoolHits);
+    output.println("# EOF");
+    output.flush();
+  }
+
+  private void writeOpenMetricsCounter(
+      PrintStream output,
+      String name,
+      String unit,
+      String help,
+      Function<Stats, Number> value) {
+    output.println("# TYPE " + name + " counter");
+    if (!unit.isEmpty()) {
+      output.println("# UNIT " + name + " " + unit);
+    }
+    output.println("# HELP " + name + " " + help);
+    for (Stats stats : this.passSummary.values()) {
+      output.println(
+          name
+              + "_total{pass=\""
+              + escapeOpenMetricsLabelValue(stats.pass)
+              + "\"} "
+              + value.apply(stats));
+    }
+  }
+
+  private static String escapeOpenMetricsLabelValue(String value) {
+    return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+  }
+
   /**
    * A Stats object contains statistics about a pass run, such as running time, size changes, etc
    */
@@ -474,6 +716,17 @@ public final class PerformanceTracker {
     public final boolean isOneTime;
     public long runtime = 0;
     public int allocMem = 0;
+    /** Bytes allocated by the thread running the pass. */
+    public long allocatedBytes = 0;
+    /**
+     * CPU time used by the thread running the pass, in nanoseconds. Runs are summed in nanoseconds
+     * and only converted to milliseconds for the reports, so short runs aren't rounded down to 0.
+     */
+    public long cpuTimeNanos = 0;
+    /** The number of garbage collections that happened while the pass ran. */
+    public long gcCount = 0;
+    /** Time spent in garbage collections that happened while the pass ran, in milliseconds. */
+    public long gcTime = 0;
     public int runs = 0;
     public int changes = 0;
     public int diff = 0;
@@ -482,5 +735,11 @@ public final class PerformanceTracker {
     public int gzSize = 0;
     public int astDiff = 0;
     public int astSize = 0;
+
+    // Measurements taken when the pass started, only used in the log.
+    private long startAllocatedBytes;
+    private long startCpuTimeNanos;
+    private long startGcCount;
+    private long startGcTime;
   }
 }
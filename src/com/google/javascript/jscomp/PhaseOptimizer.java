@@ -20,6 +20,7 @@ import static com.google.common.base.Preconditions.checkState;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
 import com.google.javascript.rhino.Node;
 import java.util.ArrayList;
@@ -28,6 +29,10 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Logger;
 
 /** An object that optimizes the order of compiler passes. */
@@ -237,7 +242,11 @@ class PhaseOptimizer implements CompilerPass {
       // Delay the creation of the actual pass until *after* all previous passes
       // have been processed.
       // Some precondition checks rely on this, eg, in CoalesceVariableNames.
-      factory.create(compiler).process(externs, root);
+      if (factory.isScriptLocal() && compiler.getOptions().numParallelThreads > 1) {
+        processScriptsInParallel(externs, root);
+      } else {
+        factory.create(compiler).process(externs, root);
+      }
 
       compiler.afterPass(name);
 
@@ -258,6 +267,56 @@ class PhaseOptimizer implements CompilerPass {
       }
     }
 
+    /**
+     * Runs a script-local pass over every source script concurrently.
+     *
+     * <p>Diagnostics are collected per script and reported afterwards in script order, which is the
+     * same order in which running the pass over the whole program reports them. A sequential run
+     * stops looking at the code once it reports a halting error, so once a script's diagnostics
+     * include one, the later scripts are skipped and anything they already collected is dropped.
+     */
+    private void processScriptsInParallel(Node externs, Node root) {
+      // The index of the first script that reported a halting error, so later ones can stop early.
+      AtomicInteger firstHaltingScript = new AtomicInteger(Integer.MAX_VALUE);
+      List<Callable<ImmutableList<JSError>>> tasks = new ArrayList<>();
+      for (Node script = root.getFirstChild(); script != null; script = script.getNext()) {
+        Node sourceScript = script;
+        int index = tasks.size();
+        tasks.add(
+            () ->
+                compiler.collectDiagnostics(
+                    () -> {
+                      if (index > firstHaltingScript.get()) {
+                        return;
+                      }
+                      factory.create(compiler).process(externs, sourceScript);
+                      if (compiler.hasHaltingErrors()) {
+                        firstHaltingScript.accumulateAndGet(index, Math::min);
+                      }
+                    }));
+      }
+
+      try {
+        // Nothing is reported until every task is done, so the tasks can safely read the errors
+        // reported so far.
+        for (Future<ImmutableList<JSError>> result :
+            compiler.getParallelExecutor().invokeAll(tasks)) {
+          if (compiler.hasHaltingErrors()) {
+            break;
+          }
+          for (JSError error : result.get()) {
+            compiler.report(error);
+          }
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException(e);
+      } catch (ExecutionException e) {
+        Throwables.throwIfUnchecked(e.getCause());
+        throw new RuntimeException(e.getCause());
+      }
+    }
+
     @Override
     public String toString() {
       return "pass: " + name;
@@ -15,7 +15,12 @@
  */
 package com.google.javascript.jscomp;
 
+import static java.lang.Math.max;
+
 import java.io.File;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.text.MessageFormat;
 
 /** A utility to abstract platform specific logic so it could be super-sourced for Web. */
@@ -38,6 +43,45 @@ final class Platform {
     return Runtime.getRuntime().totalMemory();
   }
 
+  /**
+   * Returns the number of bytes allocated on the heap by the current thread so far, or -1 if the
+   * JVM can't measure it.
+   */
+  static long currentThreadAllocatedBytes() {
+    ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    if (threadBean instanceof com.sun.management.ThreadMXBean sunThreadBean
+        && sunThreadBean.isThreadAllocatedMemoryEnabled()) {
+      return sunThreadBean.getCurrentThreadAllocatedBytes();
+    }
+    return -1;
+  }
+
+  /** Returns the CPU time used by the current thread so far in nanoseconds, or -1 if unknown. */
+  static long currentThreadCpuTimeNanos() {
+    ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    return threadBean.isCurrentThreadCpuTimeSupported()
+        ? threadBean.getCurrentThreadCpuTime()
+        : -1;
+  }
+
+  /** Returns the number of garbage collections since the JVM started, across all collectors. */
+  static long garbageCollectionCount() {
+    long count = 0;
+    for (GarbageCollectorMXBean gcBean : ManagementFactory.getGarbageCollectorMXBeans()) {
+      count += max(0, gcBean.getCollectionCount());
+    }
+    return count;
+  }
+
+  /** Returns the time spent in garbage collection since the JVM started in milliseconds. */
+  static long garbageCollectionTimeMillis() {
+    long time = 0;
+    for (GarbageCollectorMXBean gcBean : ManagementFactory.getGarbageCollectorMXBeans()) {
+      time += max(0, gcBean.getCollectionTime());
+    }
+    return time;
+  }
+
   static String formatMessage(String message, String... arguments) {
     // Note that MessageFormat is removing single quotes and in many cases intended ones. Consider
     // moving to a simpler formatting version like the Web one.
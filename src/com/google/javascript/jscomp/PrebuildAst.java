@@ -18,6 +18,7 @@ package com.google.javascript.jscomp;
 
 import static java.util.concurrent.TimeUnit.SECONDS;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
@@ -61,15 +62,21 @@ class PrebuildAst {
             new LinkedBlockingQueue<Runnable>(),
             threadFactory);
     ListeningExecutorService executorService = MoreExecutors.listeningDecorator(poolExecutor);
-    List<ListenableFuture<?>> futureList = new ArrayList<>(Iterables.size(allInputs));
+    List<ListenableFuture<ImmutableList<JSError>>> futureList =
+        new ArrayList<>(Iterables.size(allInputs));
     // TODO(moz): Support canceling all parsing on the first halting error
     for (final CompilerInput input : allInputs) {
-      futureList.add(executorService.submit(() -> input.getAstRoot(compiler)));
+      futureList.add(
+          executorService.submit(
+              () -> compiler.collectDiagnostics(() -> input.getAstRoot(compiler))));
     }
 
     poolExecutor.shutdown();
     try {
-      Futures.allAsList(futureList).get();
+      // Report diagnostics in input order, so that they don't depend on thread scheduling.
+      for (ImmutableList<JSError> diagnostics : Futures.allAsList(futureList).get()) {
+        diagnostics.forEach(compiler::report);
+      }
     } catch (InterruptedException | ExecutionException e) {
       throw new RuntimeException(e);
     }
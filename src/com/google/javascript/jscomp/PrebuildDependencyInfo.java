@@ -18,6 +18,7 @@ package com.google.javascript.jscomp;
 
 import static java.util.concurrent.TimeUnit.SECONDS;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
@@ -37,9 +38,11 @@ import java.util.concurrent.ThreadPoolExecutor;
  * available during the rest of the compilation.
  */
 class PrebuildDependencyInfo {
+  private final AbstractCompiler compiler;
   private final int numParallelThreads;
 
-  PrebuildDependencyInfo(int numParalleThreads) {
+  PrebuildDependencyInfo(AbstractCompiler compiler, int numParalleThreads) {
+    this.compiler = compiler;
     this.numParallelThreads = numParalleThreads;
   }
 
@@ -67,15 +70,20 @@ class PrebuildDependencyInfo {
             new LinkedBlockingQueue<Runnable>(),
             threadFactory);
     ListeningExecutorService executorService = MoreExecutors.listeningDecorator(poolExecutor);
-    List<ListenableFuture<?>> futureList = new ArrayList<>(Iterables.size(allInputs));
+    List<ListenableFuture<ImmutableList<JSError>>> futureList =
+        new ArrayList<>(Iterables.size(allInputs));
     // TODO(moz): Support canceling all parsing on the first halting error
     for (final CompilerInput input : allInputs) {
-      futureList.add(executorService.submit(input::getDependencyInfo));
+      futureList.add(
+          executorService.submit(() -> compiler.collectDiagnostics(input::getDependencyInfo)));
     }
 
     poolExecutor.shutdown();
     try {
-      Futures.allAsList(futureList).get();
+      // Report diagnostics in input order, so that they don't depend on thread scheduling.
+      for (ImmutableList<JSError> diagnostics : Futures.allAsList(futureList).get()) {
+        diagnostics.forEach(compiler::report);
+      }
     } catch (InterruptedException | ExecutionException e) {
       throw new RuntimeException(e);
     }
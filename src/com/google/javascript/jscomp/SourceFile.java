@@ -21,6 +21,7 @@ import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static java.lang.Math.max;
 import static java.lang.Math.min;
+import static java.nio.charset.StandardCharsets.US_ASCII;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 import com.google.common.io.CharStreams;
@@ -38,10 +39,13 @@ import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.Serializable;
 import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.CharacterCodingException;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -174,6 +178,11 @@ public final class SourceFile implements StaticSourceFile {
 
     String localCode = this.code;
     if (localCode == null) {
+      int[] offsets = this.loadUncachedLineOffsets();
+      if (offsets != null) {
+        this.lineOffsets = offsets;
+        return;
+      }
       try {
         localCode = this.getCode();
       } catch (IOException e) {
@@ -196,6 +205,28 @@ public final class SourceFile implements StaticSourceFile {
     this.lineOffsets = offsets;
   }
 
+  /**
+   * Asks the loader for the line offsets without materializing the code, so that mapping source
+   * positions back to lines doesn't need to keep (or reload) the whole file in memory.
+   */
+  private int @Nullable [] loadUncachedLineOffsets() {
+    synchronized (this) {
+      if (this.code != null) {
+        return null;
+      }
+      int[] offsets;
+      try {
+        offsets = this.loader.loadUncachedLineOffsets();
+      } catch (IOException e) {
+        return null;
+      }
+      if (offsets != null) {
+        this.numLines = offsets.length;
+      }
+      return offsets;
+    }
+  }
+
   /** Gets all the code in this source file. */
   public final String getCode() throws IOException {
     if (this.code == null) {
@@ -672,6 +703,7 @@ public final class SourceFile implements StaticSourceFile {
     private @Nullable String zipEntryPath = null;
 
     private @Nullable Supplier<String> lazyContent = null;
+    private boolean memoryMapped = false;
 
     private Builder() {}
 
@@ -717,6 +749,21 @@ public final class SourceFile implements StaticSourceFile {
       return this;
     }
 
+    /**
+     * Reads a file on disk through a memory mapping rather than a stream.
+     *
+     * <p>The code is decoded from the mapping, so the file's bytes are never copied onto the heap,
+     * although the decoded code is. Line offsets are computed from the mapping without decoding
+     * the code, so a file whose source was {@link SourceFile#clearCachedSource cleared} can still
+     * map offsets to lines without reloading it. Has no effect on zip entries or files with
+     * preloaded content.
+     */
+    @CanIgnoreReturnValue
+    public Builder withMemoryMapping(boolean memoryMapped) {
+      this.memoryMapped = memoryMapped;
+      return this;
+    }
+
     @CanIgnoreReturnValue
     public Builder withZipEntryPath(String zipPath, String entryPath) {
       this.path = zipPath;
@@ -776,12 +823,13 @@ public final class SourceFile implements StaticSourceFile {
             this.kind);
       }
 
-      return new SourceFile(
-          new CodeLoader.OnDisk(
-              (this.pathWithFilesystem != null) ? this.pathWithFilesystem : Path.of(this.path),
-              this.charset),
-          displayPath,
-          this.kind);
+      Path diskPath =
+          (this.pathWithFilesystem != null) ? this.pathWithFilesystem : Path.of(this.path);
+      if (this.memoryMapped) {
+        return new SourceFile(
+            new CodeLoader.MemoryMapped(diskPath, this.charset), displayPath, this.kind);
+      }
+      return new SourceFile(new CodeLoader.OnDisk(diskPath, this.charset), displayPath, this.kind);
     }
 
     private Builder withPathInternal(String path, @Nullable Path pathWithFilesystem) {
@@ -829,6 +877,16 @@ public final class SourceFile implements StaticSourceFile {
       return null;
     }
 
+    /**
+     * Return the offsets of the start of each line of this file, as they would be computed from
+     * the source text, or null if they can't be computed without loading the code.
+     *
+     * <p>SourceFile guarantees that this method is only called under synchronization.
+     */
+    int @Nullable [] loadUncachedLineOffsets() throws IOException {
+      return null;
+    }
+
     /**
      * Returns a representation of this loader that can be serialized/deserialized to reconstruct
      * this SourceFile
@@ -919,6 +977,136 @@ public final class SourceFile implements StaticSourceFile {
       }
     }
 
+    /**
+     * Reads a file on disk through a read-only memory mapping.
+     *
+     * <p>The mapping itself is never retained: each load maps the file, decodes what it needs and
+     * drops the buffer, so clearing the cached source leaves nothing of the file on the heap.
+     */
+    static final class MemoryMapped extends CodeLoader {
+      private static final long serialVersionUID = 1L;
+
+      private final String serializableCharset;
+      private final Path relativePath;
+
+      MemoryMapped(Path relativePath, Charset c) {
+        super();
+        this.serializableCharset = c.name();
+        this.relativePath = relativePath;
+      }
+
+      @Override
+      String loadUncachedCode() throws IOException {
+        // The decoder reads the mapped bytes directly, so the file's bytes are never copied onto
+        // the heap. The decoded characters still are, once into the decoder's buffer and once more
+        // into the String.
+        try {
+          return this.getCharset().newDecoder().decode(this.map()).toString();
+        } catch (CharacterCodingException e) {
+          throw new IOException(
+              "Failed to read: " + this.relativePath + ", is this input UTF-8 encoded?", e);
+        }
+      }
+
+      @Override
+      Reader openUncachedReader() throws IOException {
+        ByteBuffer bytes = this.map();
+        InputStream stream =
+            new InputStream() {
+              @Override
+              public int read() {
+                return bytes.hasRemaining() ? (bytes.get() & 0xFF) : -1;
+              }
+
+              @Override
+              public int read(byte[] b, int off, int len) {
+                if (len == 0) {
+                  return 0;
+                }
+                if (!bytes.hasRemaining()) {
+                  return -1;
+                }
+                int n = min(len, bytes.remaining());
+                bytes.get(b, off, n);
+                return n;
+              }
+            };
+        return new InputStreamReader(stream, this.getCharset());
+      }
+
+      /**
+       * Scans the mapped bytes for newlines, counting UTF-16 code units the way the decoded String
+       * would. Only supported for UTF-8 (and its ASCII subset), where that count doesn't require
+       * decoding.
+       */
+      @Override
+      int @Nullable [] loadUncachedLineOffsets() throws IOException {
+        Charset charset = this.getCharset();
+        if (!charset.equals(UTF_8) && !charset.equals(US_ASCII)) {
+          return null;
+        }
+        ByteBuffer bytes = this.map();
+        int limit = bytes.limit();
+        int start = 0;
+        // SourceFile strips a leading byte order mark from the code.
+        if (limit >= 3
+            && bytes.get(0) == (byte) 0xEF
+            && bytes.get(1) == (byte) 0xBB
+            && bytes.get(2) == (byte) 0xBF) {
+          start = 3;
+        }
+
+        int[] offsets = new int[16];
+        int numLines = 1; // the offset for line 1 is always 0
+        int chars = 0;
+        for (int i = start; i < limit; i++) {
+          byte b = bytes.get(i);
+          if ((b & 0xC0) != 0x80) {
+            // Every byte that isn't a continuation byte starts a new code point. Four byte
+            // sequences decode to a surrogate pair.
+            chars += ((b & 0xF8) == 0xF0) ? 2 : 1;
+          }
+          if (b == '\n') {
+            if (numLines == offsets.length) {
+              offsets = Arrays.copyOf(offsets, numLines * 2);
+            }
+            offsets[numLines++] = chars;
+          }
+        }
+        return Arrays.copyOf(offsets, numLines);
+      }
+
+      private ByteBuffer map() throws IOException {
+        try (FileChannel channel = FileChannel.open(this.relativePath, StandardOpenOption.READ)) {
+          long size = channel.size();
+          if (size > Integer.MAX_VALUE) {
+            throw new IOException("File too large to read: " + this.relativePath);
+          }
+          return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        } catch (UnsupportedOperationException e) {
+          // Paths on filesystems other than the default one may not support mapping.
+          return ByteBuffer.wrap(Files.readAllBytes(this.relativePath));
+        }
+      }
+
+      private Charset getCharset() {
+        return Charset.forName(this.serializableCharset);
+      }
+
+      @Override
+      SourceFileProto.Builder toProtoLocationBuilder(String fileName) {
+        String actualPath = this.relativePath.toString();
+        return SourceFileProto.newBuilder()
+            .setFileOnDisk(
+                FileOnDisk.newBuilder()
+                    .setActualPath(
+                        // to save space, don't serialize the path if equal to the fileName.
+                        fileName.equals(actualPath) ? "" : actualPath)
+                    // save space by not serializing UTF_8 (the default charset)
+                    .setCharset(this.getCharset().equals(UTF_8) ? "" : this.serializableCharset));
+      }
+    }
+
     static final class AtZip extends CodeLoader {
       private static final long serialVersionUID = 1L;
       private final String zipName;
@@ -463,7 +463,8 @@ class TypeInference extends DataFlowAnalysis<Node, FlowScope> {
 
   @Override
   FlowJoiner<FlowScope> createFlowJoiner() {
-    return new LinkedFlowScope.FlowScopeJoinOp(this.compiler);
+    return new LinkedFlowScope.FlowScopeJoinOp(
+        this.compiler, this.compiler.getFlowScopeJoinStatistics());
   }
 
   @Override
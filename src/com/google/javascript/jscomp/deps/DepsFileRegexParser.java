@@ -29,7 +29,6 @@ import com.google.javascript.jscomp.deps.DependencyInfo.Require;
 import java.io.File;
 import java.io.IOException;
 import java.io.Reader;
-import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -111,10 +110,11 @@ public final class DepsFileRegexParser extends JsFileLineParser {
    * @return A list of DependencyInfo objects.
    */
   public List<DependencyInfo> parseFile(String filePath, String fileContents) {
-    return parseFileReader(filePath, new StringReader(fileContents));
+    startParse(filePath);
+    doParse(filePath, fileContents);
+    return depInfos;
   }
 
-
   /**
    * Parses the file from the given reader and returns a list of
    * dependency information that it contained.
@@ -124,12 +124,17 @@ public final class DepsFileRegexParser extends JsFileLineParser {
    * @return A list of DependencyInfo objects.
    */
   public List<DependencyInfo> parseFileReader(String filePath, Reader reader) {
+    startParse(filePath);
+    doParse(filePath, reader);
+    return depInfos;
+  }
+
+  /** Clears the dependency information collected from the previously parsed file. */
+  private void startParse(String filePath) {
     depInfos = new ArrayList<>();
     if (logger.isLoggable(Level.FINE)) {
       logger.fine("Parsing Dep: " + filePath);
     }
-    doParse(filePath, reader);
-    return depInfos;
   }
 
   /**
@@ -30,6 +30,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import org.jspecify.annotations.Nullable;
 
 /**
  * Base class for classes that parse JavaScript sources on a line-by-line basis. Strips comments
@@ -117,11 +118,24 @@ public abstract class JsFileLineParser {
    * @param fileContents A reader for the contents of the file.
    */
   void doParse(String filePath, Reader fileContents) {
+    doParse(filePath, new BufferedReader(fileContents)::readLine);
+  }
+
+  /**
+   * Performs the line-by-line parsing of the given fileContents, like {@link #doParse(String,
+   * Reader)}, but without copying the contents through a reader.
+   *
+   * @param filePath The path to the file being parsed. Used for reporting parse exceptions.
+   * @param fileContents The contents of the file.
+   */
+  void doParse(String filePath, String fileContents) {
+    doParse(filePath, new StringLineReader(fileContents));
+  }
+
+  private void doParse(String filePath, LineReader lineBuffer) {
     this.filePath = filePath;
     parseSucceeded = true;
 
-    BufferedReader lineBuffer = new BufferedReader(fileContents);
-
     // Parse all lines.
     String line = null;
     lineNum = 0;
@@ -229,6 +243,55 @@ public abstract class JsFileLineParser {
     }
   }
 
+  /** A source of lines, split the same way as by {@link BufferedReader#readLine}. */
+  private interface LineReader {
+    @Nullable String readLine() throws IOException;
+  }
+
+  /**
+   * Splits a string into lines. Line breaks are found with {@link String#indexOf(int, int)}, which
+   * is much faster than reading the string one character at a time through a {@link
+   * BufferedReader}.
+   */
+  private static final class StringLineReader implements LineReader {
+    private final String contents;
+    private int position = 0;
+    // The next line feed and carriage return at or after the position, or the length of the
+    // contents if there are none, so that neither is searched for again on every line.
+    private int nextLineFeed = -1;
+    private int nextCarriageReturn = -1;
+
+    StringLineReader(String contents) {
+      this.contents = contents;
+    }
+
+    @Override
+    public @Nullable String readLine() {
+      int length = contents.length();
+      if (position >= length) {
+        return null;
+      }
+      if (nextLineFeed < position) {
+        nextLineFeed = indexOfOrLength('\n');
+      }
+      if (nextCarriageReturn < position) {
+        nextCarriageReturn = indexOfOrLength('\r');
+      }
+      int start = position;
+      int end = Math.min(nextLineFeed, nextCarriageReturn);
+      position = end + 1;
+      if (end == nextCarriageReturn && position == nextLineFeed) {
+        position++;
+      }
+      return contents.substring(start, end);
+    }
+
+    private int indexOfOrLength(char c) {
+      int index = contents.indexOf(c, position);
+      return index == -1 ? contents.length() : index;
+    }
+  }
+
   private boolean isCommentQuoted(String line, int startOfMultilineComment, char quoteChar) {
     int startQuoteIndex = line.indexOf(quoteChar);
     // Loop in case there are multiple strings between start of line and start of the comment.
@@ -24,8 +24,6 @@ import com.google.javascript.jscomp.CheckLevel;
 import com.google.javascript.jscomp.ErrorManager;
 import com.google.javascript.jscomp.JSError;
 import com.google.javascript.jscomp.deps.DependencyInfo.Require;
-import java.io.Reader;
-import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -176,11 +174,6 @@ public final class JsFileRegexParser extends JsFileLineParser {
    */
   public DependencyInfo parseFile(
       String filePath, String closureRelativePath, String fileContents) {
-    return parseReader(filePath, closureRelativePath, new StringReader(fileContents));
-  }
-
-  private DependencyInfo parseReader(
-      String filePath, String closureRelativePath, Reader fileContents) {
     provides = new ArrayList<>();
     requires = new ArrayList<>();
     typeRequires = new ArrayList<>();
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp.graph;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * An undirected graph without edge values, whose adjacency is stored as a matrix of bits.
+ *
+ * <p>Compared to {@link LinkedUndirectedGraph}, there are no edge objects, connecting two nodes and
+ * checking whether they are connected take constant time, and a {@link SubGraph} tracks its
+ * neighbors as a single row of bits, so that {@link GraphColoring} can tell whether a node is
+ * independent of a subgraph in constant time. The matrix takes {@code capacity * capacity} bits, so
+ * this suits dense graphs with a known number of nodes, such as the interference graph of the
+ * variables of a function.
+ *
+ * <p>Nodes are listed in the order they were created. Following the usual convention, a loop adds
+ * two to the degree of its node.
+ *
+ * @param <N> Value type that the graph node stores.
+ */
+public final class BitMatrixGraph<N> implements AdjacencyGraph<N, Void> {
+
+  private final int capacity;
+  private final int words;
+  private final long[] matrix;
+  private final Map<N, BitMatrixGraphNode<N>> nodes = new LinkedHashMap<>();
+  private final List<BitMatrixGraphNode<N>> nodeList = new ArrayList<>();
+
+  private BitMatrixGraph(int capacity) {
+    checkArgument(capacity >= 0, capacity);
+    this.capacity = capacity;
+    this.words = (capacity + 63) >>> 6;
+    this.matrix = new long[Math.multiplyExact(capacity, words)];
+  }
+
+  /** Creates a graph that can hold up to {@code capacity} nodes. */
+  public static <N> BitMatrixGraph<N> create(int capacity) {
+    return new BitMatrixGraph<>(capacity);
+  }
+
+  /** Gets the node for {@code value}, creating it if it doesn't exist yet. */
+  public GraphNode<N, Void> createNode(N value) {
+    BitMatrixGraphNode<N> node = nodes.get(value);
+    if (node == null) {
+      checkState(nodeList.size() < capacity, "Graph is full: %s nodes", capacity);
+      node = new BitMatrixGraphNode<>(value, nodeList.size());
+      nodes.put(value, node);
+      nodeList.add(node);
+    }
+    return node;
+  }
+
+  /** Connects two nodes, unless they are already connected. */
+  public void connect(N n1, N n2) {
+    BitMatrixGraphNode<N> node1 = getNodeOrFail(n1);
+    BitMatrixGraphNode<N> node2 = getNodeOrFail(n2);
+    if (isConnected(node1.index, node2.index)) {
+      return;
+    }
+    setBit(node1.index, node2.index);
+    setBit(node2.index, node1.index);
+    node1.degree++;
+    node2.degree++;
+  }
+
+  public boolean isConnected(N n1, N n2) {
+    return isConnected(getNodeOrFail(n1).index, getNodeOrFail(n2).index);
+  }
+
+  @Override
+  public List<? extends GraphNode<N, Void>> getNodes() {
+    return Collections.unmodifiableList(nodeList);
+  }
+
+  @Override
+  public int getNodeCount() {
+    return nodeList.size();
+  }
+
+  @Override
+  public @Nullable GraphNode<N, Void> getNode(N value) {
+    return nodes.get(value);
+  }
+
+  @Override
+  public SubGraph<N, Void> newSubGraph() {
+    return new BitMatrixSubGraph();
+  }
+
+  @Override
+  public void clearNodeAnnotations() {
+    for (BitMatrixGraphNode<N> node : nodeList) {
+      node.setAnnotation(null);
+    }
+  }
+
+  /** Returns the degree of the node. */
+  @Override
+  public int getWeight(N value) {
+    return getNodeOrFail(value).degree;
+  }
+
+  private BitMatrixGraphNode<N> getNodeOrFail(N value) {
+    BitMatrixGraphNode<N> node = nodes.get(value);
+    if (node == null) {
+      throw new IllegalArgumentException(value + " does not exist in graph");
+    }
+    return node;
+  }
+
+  private boolean isConnected(int index1, int index2) {
+    return (matrix[index1 * words + (index2 >>> 6)] & (1L << index2)) != 0;
+  }
+
+  private void setBit(int row, int column) {
+    matrix[row * words + (column >>> 6)] |= 1L << column;
+  }
+
+  /** A set of nodes, along with the union of their rows in the matrix. */
+  private final class BitMatrixSubGraph implements SubGraph<N, Void> {
+    private final long[] neighbors = new long[words];
+
+    @Override
+    public boolean isIndependentOf(N value) {
+      int index = getNodeOrFail(value).index;
+      return (neighbors[index >>> 6] & (1L << index)) == 0;
+    }
+
+    @Override
+    public void addNode(N value) {
+      int base = getNodeOrFail(value).index * words;
+      for (int w = 0; w < words; w++) {
+        neighbors[w] |= matrix[base + w];
+      }
+    }
+  }
+
+  private static final class BitMatrixGraphNode<N> implements GraphNode<N, Void> {
+    private final N value;
+    private final int index;
+    private int degree = 0;
+    private @Nullable Annotation annotation;
+
+    BitMatrixGraphNode(N value, int index) {
+      this.value = value;
+      this.index = index;
+    }
+
+    @Override
+    public N getValue() {
+      return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <A extends Annotation> A getAnnotation() {
+      return (A) annotation;
+    }
+
+    @Override
+    public void setAnnotation(@Nullable Annotation data) {
+      annotation = data;
+    }
+  }
+}
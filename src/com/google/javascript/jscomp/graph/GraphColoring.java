@@ -22,7 +22,6 @@ import static java.util.Comparator.comparing;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.Iterator;
 import java.util.List;
 import org.jspecify.annotations.Nullable;
 
@@ -151,22 +150,26 @@ public abstract class GraphColoring<N, E> {
                     : result;
               }));
 
-      // Idea: From the highest to lowest degree, assign any uncolored node with
-      // a unique color if none of its neighbors has been assigned that color.
-      int count = 0;
-      do {
-        Color color = new Color(count);
-        SubGraph<N, E> subgraph = graph.newSubGraph();
-        for (Iterator<GraphNode<N, E>> i = worklist.iterator(); i.hasNext();) {
-          GraphNode<N, E> node = i.next();
-          if (subgraph.isIndependentOf(node.getValue())) {
-            subgraph.addNode(node.getValue());
-            node.setAnnotation(color);
-            i.remove();
-          }
+      // Idea: From the highest to lowest degree, assign each node the first color that none of
+      // its neighbors has been assigned yet. This is the same coloring as filling one color at a
+      // time with every remaining node that doesn't conflict with it, but only looks at each node
+      // once, rather than once per color.
+      List<SubGraph<N, E>> colorClasses = new ArrayList<>();
+      List<Color> colors = new ArrayList<>();
+      for (GraphNode<N, E> node : worklist) {
+        N value = node.getValue();
+        int color = 0;
+        while (color < colorClasses.size() && !colorClasses.get(color).isIndependentOf(value)) {
+          color++;
         }
-        count++;
-      } while (!worklist.isEmpty());
+        if (color == colorClasses.size()) {
+          colorClasses.add(graph.newSubGraph());
+          colors.add(new Color(color));
+        }
+        colorClasses.get(color).addNode(value);
+        node.setAnnotation(colors.get(color));
+      }
+      int count = colorClasses.size();
       @SuppressWarnings("unchecked")
       N[] map = (N[]) new Object[count];
       colorToNodeMap = map;
@@ -158,6 +158,18 @@ public class LinkedDirectedGraph<N, E> extends DiGraph<N, E> implements Graphviz
                 : new LinkedDiGraphNode<N, E>(k));
   }
 
+  /**
+   * Gets or creates the node for the given value, reserving room for the given number of incoming
+   * and outgoing edges. Prefer this over {@link #createNode(Object)} when the degree of the node is
+   * known ahead of time, as when copying a graph that was built in another form.
+   */
+  protected LinkedDiGraphNode<N, E> createNode(N nodeValue, int inDegree, int outDegree) {
+    LinkedDiGraphNode<N, E> node = createNode(nodeValue);
+    node.inEdgeList.ensureCapacity(inDegree);
+    node.outEdgeList.ensureCapacity(outDegree);
+    return node;
+  }
+
   @Override
   public List<LinkedDiGraphEdge<N, E>> getEdges(N n1, N n2) {
     // Since this is a method from a generic graph, edges from both
@@ -368,13 +380,13 @@ public class LinkedDirectedGraph<N, E> extends DiGraph<N, E> implements Graphviz
    */
   public static class LinkedDiGraphNode<N, E> implements DiGraphNode<N, E>, GraphvizNode {
 
-    // The overwhelming majority of nodes have in/out degree == 1. Initialize our lists to account
-    // for that.
-    private final List<LinkedDiGraphEdge<N, E>> inEdgeList =
-        new ArrayList<>(/* initialCapacity= */ 1);
+    // The overwhelming majority of nodes have in/out degree == 1. An empty list grows to exactly
+    // that on its first edge, without allocating anything for nodes that never get one.
+    private final ArrayList<LinkedDiGraphEdge<N, E>> inEdgeList =
+        new ArrayList<>(/* initialCapacity= */ 0);
 
-    private final List<LinkedDiGraphEdge<N, E>> outEdgeList =
-        new ArrayList<>(/* initialCapacity= */ 1);
+    private final ArrayList<LinkedDiGraphEdge<N, E>> outEdgeList =
+        new ArrayList<>(/* initialCapacity= */ 0);
 
     protected final N value;
 
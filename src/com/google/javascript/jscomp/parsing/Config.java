@@ -99,12 +99,23 @@ public abstract class Config {
    */
   public enum JsDocParsing {
     TYPES_ONLY,
+    /**
+     * Like {@link #TYPES_ONLY}, but most JSDoc comments are only parsed once their {@link
+     * com.google.javascript.rhino.JSDocInfo} is first asked for, and report their warnings then.
+     * Comments that affect the whole file, such as {@code @fileoverview} and {@code @license}, are
+     * still parsed right away.
+     */
+    TYPES_ONLY_DEFERRED,
     INCLUDE_DESCRIPTIONS_NO_WHITESPACE,
     INCLUDE_DESCRIPTIONS_WITH_WHITESPACE,
     INCLUDE_ALL_COMMENTS;
 
     boolean shouldParseDescriptions() {
-      return this != TYPES_ONLY;
+      return this != TYPES_ONLY && this != TYPES_ONLY_DEFERRED;
+    }
+
+    boolean shouldDeferParsing() {
+      return this == TYPES_ONLY_DEFERRED;
     }
 
     boolean shouldPreserveWhitespace() {
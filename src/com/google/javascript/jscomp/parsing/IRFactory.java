@@ -128,6 +128,7 @@ import com.google.javascript.jscomp.parsing.parser.trees.WithStatementTree;
 import com.google.javascript.jscomp.parsing.parser.trees.YieldExpressionTree;
 import com.google.javascript.jscomp.parsing.parser.util.SourcePosition;
 import com.google.javascript.jscomp.parsing.parser.util.SourceRange;
+import com.google.javascript.rhino.DeferredJSDocInfo;
 import com.google.javascript.rhino.ErrorReporter;
 import com.google.javascript.rhino.IR;
 import com.google.javascript.rhino.JSDocInfo;
@@ -145,6 +146,7 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import org.jspecify.annotations.Nullable;
 
 /** IRFactory transforms the external AST to the internal AST. */
@@ -203,6 +205,8 @@ class IRFactory {
 
   private final Config config;
   private final ErrorReporter errorReporter;
+  // Used for deferred JSDoc, which is never within closure-unaware code.
+  private final ErrorReporter unfilteredErrorReporter;
   private final TransformDispatcher transformDispatcher;
 
   private static final ImmutableSet<String> ES5_RESERVED_KEYWORDS =
@@ -301,6 +305,7 @@ class IRFactory {
     /// whether the parser has seen the relevant closure-unaware annotation, and locally drop the
     // errors, handing any other errors off to the provided error reporter.
     this.errorReporter = new ClosureUnawareCodeSkippingJsDocInfoErroReporter(this, errorReporter);
+    this.unfilteredErrorReporter = errorReporter;
     this.transformDispatcher = new TransformDispatcher();
 
     if (config.strictMode().isStrict()) {
@@ -728,7 +733,7 @@ class IRFactory {
     return null;
   }
 
-  private @Nullable JSDocInfo parseJSDocInfoOnTree(ParseTree tree) {
+  private @Nullable Comment getJSDocCommentOnTree(ParseTree tree) {
     switch (tree.type) {
       case EXPRESSION_STATEMENT:
       case LABELLED_STATEMENT:
@@ -754,7 +759,31 @@ class IRFactory {
         break;
     }
 
-    return parseJSDocInfoFrom(getJSDocCommentAt(tree.getStart()));
+    return getJSDocCommentAt(tree.getStart());
+  }
+
+  /**
+   * Returns a handle that parses {@code comment} once its JSDoc is asked for, or null if the
+   * comment has to be parsed right away: when deferring is off, when the comment may hold an
+   * annotation that affects the rest of the file, or when it is within closure-unaware code, whose
+   * JSDoc warnings are dropped.
+   */
+  private @Nullable DeferredJSDocInfo deferJSDocInfoFrom(@Nullable Comment comment) {
+    if (comment == null
+        || !config.jsDocParsingMode().shouldDeferParsing()
+        || withinClosureUnawareCodeRange(
+            comment.location.start.line, comment.location.start.column)) {
+      return null;
+    }
+    for (String annotation : ANNOTATIONS_NEEDED_WHILE_PARSING) {
+      if (comment.value.contains(annotation)) {
+        return null;
+      }
+    }
+    parsedComments.add(comment);
+    return new DeferredJSDocInfo(
+        new DeferredJsDocParser(
+            comment, templateNode, config, jsDocSourceKind, unfilteredErrorReporter));
   }
 
   JSDocInfo parseJSDocInfoOnToken(com.google.javascript.jscomp.parsing.parser.Token token) {
@@ -891,7 +920,12 @@ class IRFactory {
   }
 
   Node transform(ParseTree tree) {
-    JSDocInfo info = parseJSDocInfoOnTree(tree);
+    Comment jsDocComment = getJSDocCommentOnTree(tree);
+    // A parenthesized expression becomes a CAST if its JSDoc has a type, so that JSDoc is needed
+    // right away.
+    DeferredJSDocInfo deferredInfo =
+        tree.type == ParseTreeType.PAREN_EXPRESSION ? null : deferJSDocInfoFrom(jsDocComment);
+    JSDocInfo info = deferredInfo == null ? parseJSDocInfoFrom(jsDocComment) : null;
     NonJSDocComment comment = parseNonJSDocCommentAt(tree.getStart(), false);
 
     if (info != null && info.isClosureUnawareCode()) {
@@ -909,6 +943,8 @@ class IRFactory {
     if (info != null) {
       node = maybeInjectCastNode(tree, info, node);
       node.setJSDocInfo(info);
+    } else if (deferredInfo != null) {
+      node.setDeferredJSDocInfo(deferredInfo);
     }
     if (comment != null) {
       node.setNonJSDocComment(comment);
@@ -1062,19 +1098,12 @@ class IRFactory {
    *     (if the method parses to the wrong level).
    */
   private JsDocInfoParser createJsDocInfoParser(Comment node) {
-    String comment = node.value;
-    int lineno = lineno(node.location.start);
-    int charno = charno(node.location.start);
-    int position = node.location.start.offset;
-
-    // The JsDocInfoParser expects the comment without the initial '/**'.
-    int numOpeningChars = 3;
     JsDocInfoParser jsdocParser =
-        new JsDocInfoParser(
-            new JsDocTokenStream(
-                comment.substring(numOpeningChars), lineno, charno + numOpeningChars),
-            comment,
-            position,
+        newJsDocInfoParser(
+            node.value,
+            lineno(node.location.start),
+            charno(node.location.start),
+            node.location.start.offset,
             templateNode,
             config,
             jsDocSourceKind,
@@ -1091,17 +1120,11 @@ class IRFactory {
 
   /** Parses inline type info. */
   private JSDocInfo parseInlineTypeDoc(Comment node) {
-    String comment = node.value;
-    int lineno = lineno(node.location.start);
-    int charno = charno(node.location.start);
-
-    // The JsDocInfoParser expects the comment without the initial '/**'.
-    int numOpeningChars = 3;
     JsDocInfoParser parser =
-        new JsDocInfoParser(
-            new JsDocTokenStream(
-                comment.substring(numOpeningChars), lineno, charno + numOpeningChars),
-            comment,
+        newJsDocInfoParser(
+            node.value,
+            lineno(node.location.start),
+            charno(node.location.start),
             node.location.start.offset,
             templateNode,
             config,
@@ -1110,6 +1133,74 @@ class IRFactory {
     return parser.parseInlineTypeDoc();
   }
 
+  private static JsDocInfoParser newJsDocInfoParser(
+      String comment,
+      int lineno,
+      int charno,
+      int position,
+      Node templateNode,
+      Config config,
+      JsDocInfoParser.JsDocSourceKind jsDocSourceKind,
+      ErrorReporter errorReporter) {
+    // The JsDocInfoParser expects the comment without the initial '/**'.
+    int numOpeningChars = 3;
+    return new JsDocInfoParser(
+        new JsDocTokenStream(comment.substring(numOpeningChars), lineno, charno + numOpeningChars),
+        comment,
+        position,
+        templateNode,
+        config,
+        jsDocSourceKind,
+        errorReporter);
+  }
+
+  /**
+   * Parses a JSDoc comment whose parsing was deferred. It keeps only what parsing needs, as the
+   * {@link Comment} and the IRFactory both refer to the contents of the whole file.
+   */
+  private static final class DeferredJsDocParser implements Supplier<@Nullable JSDocInfo> {
+    private final String comment;
+    private final int lineno;
+    private final int charno;
+    private final int position;
+    private final Node templateNode;
+    private final Config config;
+    private final JsDocInfoParser.JsDocSourceKind jsDocSourceKind;
+    private final ErrorReporter errorReporter;
+
+    DeferredJsDocParser(
+        Comment comment,
+        Node templateNode,
+        Config config,
+        JsDocInfoParser.JsDocSourceKind jsDocSourceKind,
+        ErrorReporter errorReporter) {
+      this.comment = comment.value;
+      this.lineno = lineno(comment.location.start);
+      this.charno = charno(comment.location.start);
+      this.position = comment.location.start.offset;
+      this.templateNode = templateNode;
+      this.config = config;
+      this.jsDocSourceKind = jsDocSourceKind;
+      this.errorReporter = errorReporter;
+    }
+
+    @Override
+    public @Nullable JSDocInfo get() {
+      JsDocInfoParser parser =
+          newJsDocInfoParser(
+              comment,
+              lineno,
+              charno,
+              position,
+              templateNode,
+              config,
+              jsDocSourceKind,
+              errorReporter);
+      parser.parse();
+      return parser.retrieveAndResetParsedJSDocInfo();
+    }
+  }
+
   // Set the length on the node if we're in IDE mode.
   void setLength(Node node, SourcePosition start, SourcePosition end) {
     node.setLength(end.offset - start.offset);
@@ -1151,6 +1242,24 @@ class IRFactory {
 
   private static final QualifiedName GOOG_MODULE = QualifiedName.of("goog.module");
 
+  /**
+   * Annotations that make a comment affect the rest of the file: file overviews, licenses, and
+   * closure-unaware code. Comments that may hold one are never deferred.
+   */
+  private static final ImmutableList<String> ANNOTATIONS_NEEDED_WHILE_PARSING =
+      ImmutableList.of(
+          "@closureUnaware",
+          "@copyright",
+          "@enhance",
+          "@externs",
+          "@fileoverview",
+          "@license",
+          "@mods",
+          "@nocompile",
+          "@nocoverage",
+          "@preserve",
+          "@typeSummary");
+
   private class TransformDispatcher {
 
     /**
@@ -20,6 +20,7 @@ import com.google.common.base.Preconditions;
 import com.google.javascript.jscomp.parsing.parser.util.SourcePosition;
 import com.google.javascript.jscomp.parsing.parser.util.SourceRange;
 import java.util.Objects;
+import org.jspecify.annotations.Nullable;
 
 /** Utility for finding line and column offsets within a source file. */
 final class LineNumberScanner {
@@ -31,6 +32,12 @@ final class LineNumberScanner {
   private int lastLineStart = -1;
   private int nextLineStart = 0;
 
+  /**
+   * The position most recently returned by {@link #getSourcePosition}. Adjacent tokens, as in
+   * {@code a.b(c);}, share the position where one ends and the next starts.
+   */
+  private @Nullable SourcePosition lastPosition;
+
   LineNumberScanner(SourceFile sourceFile) {
     this.sourceFile = sourceFile;
     this.contents = sourceFile.contents;
@@ -48,10 +55,14 @@ final class LineNumberScanner {
         "Must call rewindTo before calling getSourcePosition for an earlier line (%s < %s)",
         offset,
         lastLineStart);
+    if (lastPosition != null && lastPosition.offset == offset) {
+      return lastPosition;
+    }
     while (offset >= nextLineStart) {
       advanceLine();
     }
-    return new SourcePosition(sourceFile, offset, lastLine, offset - lastLineStart);
+    lastPosition = new SourcePosition(sourceFile, offset, lastLine, offset - lastLineStart);
+    return lastPosition;
   }
 
   SourceRange getSourceRange(int startOffset, int endOffset) {
@@ -77,7 +88,8 @@ final class LineNumberScanner {
     lastLineStart = nextLineStart;
     for (int index = lastLineStart; index < sourceLength; index++) {
       char ch = contents.charAt(index);
-      if (isLineTerminator(ch)) {
+      // Most characters lie between the ASCII and Unicode line terminators, so check that first.
+      if ((ch <= '\r' || ch >= '\u2028') && isLineTerminator(ch)) {
         if (ch == '\r' && index + 1 < sourceLength && contents.charAt(index + 1) == '\n') {
           index++;
         }
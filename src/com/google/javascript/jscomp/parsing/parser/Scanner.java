@@ -36,6 +36,24 @@ import org.jspecify.annotations.Nullable;
  */
 public class Scanner {
 
+  // Properties of ASCII characters, looked up in ASCII_CHAR_FLAGS. Most source code is ASCII, and
+  // the loops that skip over whitespace, comments, identifiers and string literals check the table
+  // instead of branching on each character they may stop at.
+  private static final byte WHITESPACE = 1;
+  private static final byte LINE_TERMINATOR = 2;
+  private static final byte IDENTIFIER_PART = 4;
+  private static final byte[] ASCII_CHAR_FLAGS = new byte[0x80];
+
+  static {
+    for (char ch = 0; ch < 0x80; ch++) {
+      ASCII_CHAR_FLAGS[ch] =
+          (byte)
+              ((isWhitespace(ch) ? WHITESPACE : 0)
+                  | (isLineTerminator(ch) ? LINE_TERMINATOR : 0)
+                  | (Identifiers.isIdentifierPart(ch) ? IDENTIFIER_PART : 0));
+    }
+  }
+
   private final ErrorReporter errorReporter;
   private final SourceFile source;
   private final LineNumberScanner lineNumberScanner;
@@ -255,18 +273,26 @@ public class Scanner {
   /** Returns true if the whitespace that was skipped included any line terminators. */
   private boolean skipWhitespace() {
     boolean foundLineTerminator = false;
-    while (!isAtEnd() && peekWhitespace()) {
-      if (isLineTerminator(nextChar())) {
-        foundLineTerminator = true;
+    int i = index;
+    while (i < contentsLength) {
+      char ch = contents.charAt(i);
+      if (ch < 0x80) {
+        int flags = ASCII_CHAR_FLAGS[ch];
+        if ((flags & WHITESPACE) == 0) {
+          break;
+        }
+        foundLineTerminator |= (flags & LINE_TERMINATOR) != 0;
+      } else if (isWhitespace(ch)) {
+        foundLineTerminator |= isLineTerminator(ch);
+      } else {
+        break;
       }
+      i++;
     }
+    index = i;
     return foundLineTerminator;
   }
 
-  private boolean peekWhitespace() {
-    return isWhitespace(peekChar());
-  }
-
   private static boolean isWhitespace(char ch) {
     switch (ch) {
       case '\u0009': // Tab
@@ -376,9 +402,15 @@ public class Scanner {
 
   private void skipSingleLineComment(Comment.Type type) {
     int startOffset = index;
-    while (!isAtEnd() && !isLineTerminator(peekChar())) {
-      nextChar();
+    int i = index;
+    while (i < contentsLength) {
+      char ch = contents.charAt(i);
+      if (ch < 0x80 ? (ASCII_CHAR_FLAGS[ch] & LINE_TERMINATOR) != 0 : isLineTerminator(ch)) {
+        break;
+      }
+      i++;
     }
+    index = i;
     SourceRange range = lineNumberScanner.getSourceRange(startOffset, index);
     String value = this.contents.substring(startOffset, index);
     recordComment(type, range, value);
@@ -392,9 +424,9 @@ public class Scanner {
     int startOffset = index;
     nextChar(); // '/'
     nextChar(); // '*'
-    while (!isAtEnd() && (peekChar() != '*' || peekChar(1) != '/')) {
-      nextChar();
-    }
+    // String.indexOf is an intrinsic that compares many characters at a time.
+    int endOfComment = contents.indexOf("*/", index);
+    index = endOfComment == -1 ? contentsLength : endOfComment;
     if (!isAtEnd()) {
       nextChar();
       nextChar();
@@ -768,6 +800,19 @@ public class Scanner {
     boolean bracedUnicodeEscape = false;
     int unicodeEscapeLen = containsUnicodeEscape ? 1 : 0;
 
+    if (!containsUnicodeEscape) {
+      // Skip the ASCII characters of the identifier, leaving the rest to the loop below.
+      int i = index;
+      while (i < contentsLength) {
+        char part = contents.charAt(i);
+        if (part >= 0x80 || (ASCII_CHAR_FLAGS[part] & IDENTIFIER_PART) == 0) {
+          break;
+        }
+        i++;
+      }
+      index = i;
+    }
+
     ch = peekChar();
     while (Identifiers.isIdentifierPart(ch)
         || ch == '\\'
@@ -879,6 +924,7 @@ public class Scanner {
     SourcePosition startingPosition = getPosition(beginIndex);
 
     boolean hasUnescapedUnicodeLineOrParagraphSeparator = false;
+    skipAsciiStringLiteralChars(terminator);
     while (peekStringLiteralChar(terminator)) {
       char c = peekChar();
       hasUnescapedUnicodeLineOrParagraphSeparator =
@@ -889,6 +935,7 @@ public class Scanner {
             getTokenRange(startingPosition),
             hasUnescapedUnicodeLineOrParagraphSeparator);
       }
+      skipAsciiStringLiteralChars(terminator);
     }
     if (peekChar() != terminator) {
       reportError(startingPosition, "Unterminated string literal");
@@ -956,6 +1003,26 @@ public class Scanner {
     return this.contents.substring(beginIndex, index);
   }
 
+  /**
+   * Skips the ASCII characters of a string literal that are neither the terminator, the start of an
+   * escape sequence, nor a line terminator, leaving everything else to {@link
+   * #skipStringLiteralChar}.
+   */
+  private void skipAsciiStringLiteralChars(char terminator) {
+    int i = index;
+    while (i < contentsLength) {
+      char ch = contents.charAt(i);
+      if (ch >= 0x80
+          || ch == terminator
+          || ch == '\\'
+          || (ASCII_CHAR_FLAGS[ch] & LINE_TERMINATOR) != 0) {
+        break;
+      }
+      i++;
+    }
+    index = i;
+  }
+
   private boolean peekStringLiteralChar(char terminator) {
     return !isAtEnd() && peekChar() != terminator && !isStringLineTerminator(peekChar());
   }
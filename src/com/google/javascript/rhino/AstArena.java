@@ -0,0 +1,485 @@
+/*
+ *
+ * ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is Rhino code, released
+ * May 6, 1999.
+ *
+ * The Initial Developer of the Original Code is
+ * Netscape Communications Corporation.
+ * Portions created by the Initial Developer are Copyright (C) 1997-1999
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ *   Google Inc.
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * the GNU General Public License Version 2 or later (the "GPL"), in which
+ * case the provisions of the GPL are applicable instead of those above. If
+ * you wish to allow use of your version of this file only under the terms of
+ * the GPL and not to allow others to use your version of this file under the
+ * MPL, indicate your decision by deleting the provisions above and replacing
+ * them with the notice and other provisions required by the GPL. If you do
+ * not delete the provisions above, a recipient may use your version of this
+ * file under either the MPL or the GPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package com.google.javascript.rhino;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+import com.google.javascript.jscomp.colors.Color;
+import com.google.javascript.rhino.jstype.JSType;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A compact, read-only copy of an AST, stored as parallel arrays indexed by node id instead of one
+ * {@link Node} object per node.
+ *
+ * <p>Node ids are assigned in pre-order, so the root is {@link #ROOT} and every subtree occupies a
+ * contiguous range of ids. Strings are pooled, and nodes whose properties are stored in the same
+ * arrays (e.g. every node of a file that only has a source file) share a single detached holder
+ * node for them. Property values, including JSDoc, are shared with the original tree rather than
+ * copied.
+ *
+ * <p>This is meant for analyses that only read the AST: it can be walked with {@link
+ * #traverse(Callback)} in the same order as {@code NodeTraversal}, and {@link #toTree()} rebuilds
+ * an equivalent {@link Node} tree.
+ */
+public final class AstArena {
+
+  /** The id of the root node. */
+  public static final int ROOT = 0;
+
+  /** Used for absent node ids, e.g. the parent of the root or the next sibling of a last child. */
+  public static final int NONE = -1;
+
+  // Avoid cloning "values" repeatedly in hot code, we save it off now.
+  private static final Token[] tokenValues = Token.values();
+
+  static {
+    // Tokens are stored as bytes.
+    checkState(tokenValues.length <= 256, "Too many Tokens: %s", tokenValues.length);
+  }
+
+  /**
+   * Visits nodes of an {@link AstArena}, the way {@code NodeTraversal.Callback} visits Nodes.
+   * {@code parent} is {@link #NONE} for the root.
+   */
+  public interface Callback {
+    /**
+     * Called before the children of {@code node} are visited. Returning false skips {@code node}
+     * and its subtree.
+     */
+    boolean shouldTraverse(AstArena arena, int node, int parent);
+
+    /** Called after all the children of {@code node} have been visited. */
+    void visit(AstArena arena, int node, int parent);
+  }
+
+  private final int size;
+  private final byte[] tokens;
+  private final int[] parents;
+  private final int[] firstChildren;
+  private final int[] nextSiblings;
+  private final int[] sourcePositions;
+  private final int[] lengths;
+  // Index into strings, numbers or objects, depending on the kind of node, or NONE.
+  private final int[] values;
+  // Index into strings, or NONE.
+  private final int[] originalNames;
+  // Index into propHolders, or NONE.
+  private final int[] props;
+  // Only allocated if some node has a JSType or Color.
+  private final Object @Nullable [] types;
+
+  private final String[] strings;
+  private final double[] numbers;
+  // BigIntegers for BIGINT nodes and {cooked, raw} pairs for TEMPLATELIT_STRING nodes.
+  private final Object[] objects;
+  private final Node[] propHolders;
+
+  private AstArena(Builder builder) {
+    this.size = builder.size;
+    this.tokens = builder.tokens;
+    this.parents = builder.parents;
+    this.firstChildren = builder.firstChildren;
+    this.nextSiblings = builder.nextSiblings;
+    this.sourcePositions = builder.sourcePositions;
+    this.lengths = builder.lengths;
+    this.values = builder.values;
+    this.originalNames = builder.originalNames;
+    this.props = builder.props;
+    this.types = builder.types;
+    this.strings = builder.strings.toArray(new String[0]);
+    this.numbers = Arrays.copyOf(builder.numbers, builder.numberCount);
+    this.objects = builder.objects.toArray();
+    this.propHolders = builder.propHolders.toArray(new Node[0]);
+  }
+
+  /** Copies the tree rooted at {@code root} into a new arena. */
+  public static AstArena fromTree(Node root) {
+    int size = 0;
+    for (Node n = root; n != null; n = nextInPreOrder(n, root)) {
+      size++;
+    }
+
+    Builder builder = new Builder(size);
+    int current = builder.add(root, NONE);
+    for (Node n = root; ; ) {
+      Node child = n.getFirstChild();
+      if (child != null) {
+        int childId = builder.add(child, current);
+        builder.firstChildren[current] = childId;
+        current = childId;
+        n = child;
+        continue;
+      }
+      // Climb until there is a next sibling.
+      while (n != root && n.getNext() == null) {
+        n = n.getParent();
+        current = builder.parents[current];
+      }
+      if (n == root) {
+        break;
+      }
+      n = n.getNext();
+      int siblingId = builder.add(n, builder.parents[current]);
+      builder.nextSiblings[current] = siblingId;
+      current = siblingId;
+    }
+    checkState(builder.size == size, builder.size);
+    return new AstArena(builder);
+  }
+
+  private static @Nullable Node nextInPreOrder(Node n, Node root) {
+    if (n.hasChildren()) {
+      return n.getFirstChild();
+    }
+    while (n != root && n.getNext() == null) {
+      n = n.getParent();
+    }
+    return n == root ? null : n.getNext();
+  }
+
+  /** Rebuilds the tree as {@link Node}s. */
+  public Node toTree() {
+    Node[] nodes = new Node[size];
+    for (int id = 0; id < size; id++) {
+      Node n = newNode(id);
+      nodes[id] = n;
+      if (id != ROOT) {
+        // Ids are assigned in pre-order, so children are appended in order.
+        nodes[parents[id]].addChildToBack(n);
+      }
+    }
+    return nodes[ROOT];
+  }
+
+  private Node newNode(int id) {
+    Token token = getToken(id);
+    int value = values[id];
+    Node n;
+    if (value == NONE) {
+      n = new Node(token);
+    } else if (token == Token.NUMBER) {
+      n = Node.newNumber(numbers[value]);
+    } else if (token == Token.BIGINT) {
+      n = Node.newBigInt((BigInteger) objects[value]);
+    } else if (token == Token.TEMPLATELIT_STRING) {
+      String[] cookedAndRaw = (String[]) objects[value];
+      n = Node.newTemplateLitString(cookedAndRaw[0], cookedAndRaw[1]);
+    } else {
+      n = Node.newString(token, strings[value]);
+    }
+    n.setSourcePosition(sourcePositions[id]);
+    n.setLength(lengths[id]);
+    if (originalNames[id] != NONE) {
+      n.setOriginalName(strings[originalNames[id]]);
+    }
+    if (types != null) {
+      n.setJSTypeOrColor(types[id]);
+    }
+    if (props[id] != NONE) {
+      n.clonePropsFrom(propHolders[props[id]]);
+    }
+    return n;
+  }
+
+  /**
+   * Visits the subtree of every node for which {@link Callback#shouldTraverse} returns true, in the
+   * same order as {@code NodeTraversal}. Doesn't recurse, so arbitrarily deep trees are fine.
+   */
+  public void traverse(Callback callback) {
+    if (!callback.shouldTraverse(this, ROOT, NONE)) {
+      return;
+    }
+    int current = ROOT;
+    while (true) {
+      int child = nextTraversedSibling(callback, firstChildren[current], current);
+      if (child != NONE) {
+        current = child;
+        continue;
+      }
+      // All the children of current have been visited: visit it and move on to its next sibling.
+      while (true) {
+        int parent = parents[current];
+        callback.visit(this, current, parent);
+        if (current == ROOT) {
+          return;
+        }
+        int sibling = nextTraversedSibling(callback, nextSiblings[current], parent);
+        if (sibling != NONE) {
+          current = sibling;
+          break;
+        }
+        current = parent;
+      }
+    }
+  }
+
+  /** Returns the first of {@code node} and its next siblings that should be traversed. */
+  private int nextTraversedSibling(Callback callback, int node, int parent) {
+    while (node != NONE && !callback.shouldTraverse(this, node, parent)) {
+      node = nextSiblings[node];
+    }
+    return node;
+  }
+
+  /** Returns the number of nodes. */
+  public int size() {
+    return size;
+  }
+
+  public Token getToken(int node) {
+    return tokenValues[tokens[node] & 0xFF];
+  }
+
+  public int getParent(int node) {
+    return parents[node];
+  }
+
+  public int getFirstChild(int node) {
+    return firstChildren[node];
+  }
+
+  public int getNext(int node) {
+    return nextSiblings[node];
+  }
+
+  public boolean hasChildren(int node) {
+    return firstChildren[node] != NONE;
+  }
+
+  public int getChildCount(int node) {
+    int count = 0;
+    for (int child = firstChildren[node]; child != NONE; child = nextSiblings[child]) {
+      count++;
+    }
+    return count;
+  }
+
+  /** Returns the line number, or -1 if the node has no source position. */
+  public int getLineno(int node) {
+    return Node.linenoOf(sourcePositions[node]);
+  }
+
+  /** Returns the column number, or -1 if the node has no source position. */
+  public int getCharno(int node) {
+    return Node.charnoOf(sourcePositions[node]);
+  }
+
+  public int getLength(int node) {
+    return lengths[node];
+  }
+
+  public String getString(int node) {
+    int value = values[node];
+    Token token = getToken(node);
+    checkArgument(
+        value != NONE
+            && token != Token.NUMBER
+            && token != Token.BIGINT
+            && token != Token.TEMPLATELIT_STRING,
+        "%s has no string",
+        token);
+    return strings[value];
+  }
+
+  public double getDouble(int node) {
+    checkArgument(getToken(node) == Token.NUMBER, getToken(node));
+    return numbers[values[node]];
+  }
+
+  public BigInteger getBigInt(int node) {
+    checkArgument(getToken(node) == Token.BIGINT, getToken(node));
+    return (BigInteger) objects[values[node]];
+  }
+
+  public @Nullable String getCookedString(int node) {
+    checkArgument(getToken(node) == Token.TEMPLATELIT_STRING, getToken(node));
+    return ((String[]) objects[values[node]])[0];
+  }
+
+  public String getRawString(int node) {
+    checkArgument(getToken(node) == Token.TEMPLATELIT_STRING, getToken(node));
+    return ((String[]) objects[values[node]])[1];
+  }
+
+  public @Nullable String getOriginalName(int node) {
+    int name = originalNames[node];
+    return name == NONE ? null : strings[name];
+  }
+
+  public @Nullable JSType getJSType(int node) {
+    Object type = types == null ? null : types[node];
+    return (type instanceof JSType) ? (JSType) type : null;
+  }
+
+  public @Nullable Color getColor(int node) {
+    Object type = types == null ? null : types[node];
+    return (type instanceof Color) ? (Color) type : null;
+  }
+
+  public @Nullable JSDocInfo getJSDocInfo(int node) {
+    int holder = props[node];
+    return holder == NONE ? null : propHolders[holder].getJSDocInfo();
+  }
+
+  public @Nullable StaticSourceFile getStaticSourceFile(int node) {
+    int holder = props[node];
+    return holder == NONE ? null : propHolders[holder].getStaticSourceFile();
+  }
+
+  public @Nullable String getSourceFileName(int node) {
+    StaticSourceFile file = getStaticSourceFile(node);
+    return file == null ? null : file.getName();
+  }
+
+  private static final class Builder {
+    private int size = 0;
+    private final byte[] tokens;
+    private final int[] parents;
+    private final int[] firstChildren;
+    private final int[] nextSiblings;
+    private final int[] sourcePositions;
+    private final int[] lengths;
+    private final int[] values;
+    private final int[] originalNames;
+    private final int[] props;
+    private Object @Nullable [] types;
+
+    private final List<String> strings = new ArrayList<>();
+    private final Map<String, Integer> stringIds = new HashMap<>();
+    private double[] numbers = new double[16];
+    private int numberCount = 0;
+    private final List<Object> objects = new ArrayList<>();
+    private final List<Node> propHolders = new ArrayList<>();
+    private final Map<Object, Integer> propHolderIds = new HashMap<>();
+
+    Builder(int capacity) {
+      this.tokens = new byte[capacity];
+      this.parents = new int[capacity];
+      this.firstChildren = new int[capacity];
+      this.nextSiblings = new int[capacity];
+      this.sourcePositions = new int[capacity];
+      this.lengths = new int[capacity];
+      this.values = new int[capacity];
+      this.originalNames = new int[capacity];
+      this.props = new int[capacity];
+    }
+
+    /** Adds {@code n} as the next node id, without linking it to its siblings. */
+    @SuppressWarnings("EnumOrdinal") // performance tuning
+    int add(Node n, int parent) {
+      int id = size++;
+      Token token = n.getToken();
+      tokens[id] = (byte) token.ordinal();
+      parents[id] = parent;
+      firstChildren[id] = NONE;
+      nextSiblings[id] = NONE;
+      sourcePositions[id] = n.getSourcePosition();
+      lengths[id] = n.getLength();
+
+      if (token == Token.NUMBER) {
+        values[id] = addNumber(n.getDouble());
+      } else if (token == Token.BIGINT) {
+        values[id] = addObject(n.getBigInt());
+      } else if (token == Token.TEMPLATELIT_STRING) {
+        values[id] = addObject(new String[] {n.getCookedString(), n.getRawString()});
+      } else if (n.hasStringValue()) {
+        values[id] = addString(n.getString());
+      } else {
+        values[id] = NONE;
+      }
+
+      @SuppressWarnings("deprecation") // only copied into the arena, never used for decisions
+      String originalName = n.getOriginalName();
+      originalNames[id] = originalName == null ? NONE : addString(originalName);
+
+      Object type = n.getJSTypeOrColor();
+      if (type != null) {
+        if (types == null) {
+          types = new Object[tokens.length];
+        }
+        types[id] = type;
+      }
+
+      props[id] = n.hasProps() ? addPropHolder(n) : NONE;
+      return id;
+    }
+
+    private int addString(String s) {
+      Integer id = stringIds.get(s);
+      if (id == null) {
+        id = strings.size();
+        strings.add(s);
+        stringIds.put(s, id);
+      }
+      return id;
+    }
+
+    private int addNumber(double d) {
+      if (numberCount == numbers.length) {
+        numbers = Arrays.copyOf(numbers, numberCount * 2);
+      }
+      numbers[numberCount] = d;
+      return numberCount++;
+    }
+
+    private int addObject(Object o) {
+      objects.add(o);
+      return objects.size() - 1;
+    }
+
+    private int addPropHolder(Node n) {
+      Object key = n.getPropsKey();
+      Integer id = propHolderIds.get(key);
+      if (id == null) {
+        id = propHolders.size();
+        propHolders.add(new Node(Token.EMPTY).clonePropsFrom(n));
+        propHolderIds.put(key, id);
+      }
+      return id;
+    }
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ *
+ * ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is Rhino code, released
+ * May 6, 1999.
+ *
+ * The Initial Developer of the Original Code is
+ * Netscape Communications Corporation.
+ * Portions created by the Initial Developer are Copyright (C) 1997-1999
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ *   Google Inc.
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * the GNU General Public License Version 2 or later (the "GPL"), in which
+ * case the provisions of the GPL are applicable instead of those above. If
+ * you wish to allow use of your version of this file only under the terms of
+ * the GPL and not to allow others to use your version of this file under the
+ * MPL, indicate your decision by deleting the provisions above and replacing
+ * them with the notice and other provisions required by the GPL. If you do
+ * not delete the provisions above, a recipient may use your version of this
+ * file under either the MPL or the GPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+
+package com.google.javascript.rhino;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.function.Supplier;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A JSDoc comment whose parsing is put off until its {@link JSDocInfo} is first asked for, through
+ * {@link Node#getJSDocInfo}.
+ *
+ * <p>The comment is parsed at most once, no matter how many nodes share it or how many threads ask
+ * for it, so any warnings from parsing it are reported once as well.
+ */
+public final class DeferredJSDocInfo {
+  // Volatile so that get() only needs the lock until the comment is parsed: info is written
+  // before parser is cleared, so a thread that sees a null parser also sees the parsed info.
+  private volatile @Nullable Supplier<@Nullable JSDocInfo> parser;
+  private @Nullable JSDocInfo info;
+
+  /**
+   * @param parser parses the comment. It is called at most once, and dropped afterwards so that
+   *     whatever it refers to can be collected.
+   */
+  public DeferredJSDocInfo(Supplier<@Nullable JSDocInfo> parser) {
+    this.parser = checkNotNull(parser);
+  }
+
+  /** Returns the parsed JSDoc, parsing the comment if that hasn't happened yet. */
+  public @Nullable JSDocInfo get() {
+    if (parser != null) {
+      synchronized (this) {
+        Supplier<@Nullable JSDocInfo> pending = parser;
+        if (pending != null) {
+          info = pending.get();
+          parser = null;
+        }
+      }
+    }
+    return info;
+  }
+
+  /** Whether the comment has been parsed. */
+  public boolean isParsed() {
+    return parser == null;
+  }
+
+  /** Describes the JSDoc without parsing it, so printing a node doesn't report JSDoc warnings. */
+  @Override
+  public String toString() {
+    return isParsed() ? String.valueOf(info) : "<unparsed JSDoc>";
+  }
+}
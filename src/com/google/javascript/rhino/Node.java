@@ -79,7 +79,7 @@ public class Node {
     // Contains non-JSDoc comment
     NON_JSDOC_COMMENT,
     TRAILING_NON_JSDOC_COMMENT,
-    // Contains a JSDocInfo object
+    // Contains a JSDocInfo or DeferredJSDocInfo object
     JSDOC_INFO,
     // Whether incrdecr is pre (false) or post (true)
     INCRDECR,
@@ -208,6 +208,11 @@ public class Node {
   // Avoid cloning "values" repeatedly in hot code, we save it off now.
   private static final Prop[] propValues = Prop.values();
 
+  static {
+    // Props are stored as bits of a long.
+    checkState(propValues.length <= Long.SIZE, "Too many Props: %s", propValues.length);
+  }
+
   /**
    * Get the NonJSDoc comment string attached to this node.
    *
@@ -429,83 +434,6 @@ public class Node {
     }
   }
 
-  private abstract static class PropListItem {
-    final @Nullable PropListItem next;
-    final byte propType;
-
-    PropListItem(byte propType, @Nullable PropListItem next) {
-      this.propType = propType;
-      this.next = next;
-    }
-
-    public abstract int getIntValue();
-
-    public abstract Object getObjectValue();
-
-    public abstract PropListItem chain(@Nullable PropListItem next);
-  }
-
-  // A base class for Object storing props
-  private static final class ObjectPropListItem extends PropListItem {
-    private final Object objectValue;
-
-    ObjectPropListItem(byte propType, Object objectValue, @Nullable PropListItem next) {
-      super(propType, next);
-      this.objectValue = checkNotNull(objectValue);
-    }
-
-    @Override
-    public int getIntValue() {
-      throw new UnsupportedOperationException();
-    }
-
-    @Override
-    public Object getObjectValue() {
-      return objectValue;
-    }
-
-    @Override
-    public String toString() {
-      return String.valueOf(objectValue);
-    }
-
-    @Override
-    public PropListItem chain(@Nullable PropListItem next) {
-      return new ObjectPropListItem(propType, objectValue, next);
-    }
-  }
-
-  // A base class for int storing props
-  private static final class IntPropListItem extends PropListItem {
-    final int intValue;
-
-    IntPropListItem(byte propType, int intValue, @Nullable PropListItem next) {
-      super(propType, next);
-      this.intValue = intValue;
-      checkState(this.intValue != 0);
-    }
-
-    @Override
-    public int getIntValue() {
-      return intValue;
-    }
-
-    @Override
-    public Object getObjectValue() {
-      throw new UnsupportedOperationException();
-    }
-
-    @Override
-    public String toString() {
-      return String.valueOf(intValue);
-    }
-
-    @Override
-    public PropListItem chain(@Nullable PropListItem next) {
-      return new IntPropListItem(propType, intValue, next);
-    }
-  }
-
   public Node(Token token) {
     this.token = token;
   }
@@ -965,15 +893,67 @@ public class Node {
     first = null;
   }
 
-  @VisibleForTesting
   @SuppressWarnings("EnumOrdinal") // performance tuning
-  final @Nullable PropListItem lookupProperty(Prop prop) {
-    byte propType = (byte) prop.ordinal();
-    PropListItem x = propListHead;
-    while (x != null && propType != x.propType) {
-      x = x.next;
+  private static long propBit(Prop prop) {
+    return 1L << prop.ordinal();
+  }
+
+  @VisibleForTesting
+  final boolean hasProp(Prop prop) {
+    return (getPresentProps() & propBit(prop)) != 0;
+  }
+
+  final boolean hasProps() {
+    return props != null;
+  }
+
+  /** Returns the set of all props on this node, as a bitset indexed by {@link Prop} ordinal. */
+  private long getPresentProps() {
+    return getBooleanProps() | getIntPropBits() | getObjectPropBits();
+  }
+
+  private long getBooleanProps() {
+    Object p = this.props;
+    return p instanceof PropSet ? ((PropSet) p).booleanProps : 0;
+  }
+
+  private int @Nullable [] getIntProps() {
+    Object p = this.props;
+    return p instanceof PropSet ? ((PropSet) p).intProps : null;
+  }
+
+  private Object @Nullable [] getObjectProps() {
+    Object p = this.props;
+    return p instanceof PropSet ? ((PropSet) p).objectProps : (Object[]) p;
+  }
+
+  private void setProps(long booleanProps, int @Nullable [] intProps, Object @Nullable [] objects) {
+    this.props =
+        booleanProps == 0 && intProps == null
+            ? objects
+            : new PropSet(booleanProps, intProps, objects);
+  }
+
+  private long getIntPropBits() {
+    long bits = 0;
+    int[] ints = getIntProps();
+    if (ints != null) {
+      for (int i = 0; i < ints.length; i += 2) {
+        bits |= 1L << ints[i];
+      }
+    }
+    return bits;
+  }
+
+  private long getObjectPropBits() {
+    long bits = 0;
+    Object[] objects = getObjectProps();
+    if (objects != null) {
+      for (int i = 0; i < objects.length; i += 2) {
+        bits |= propBit((Prop) objects[i]);
+      }
     }
-    return x;
+    return bits;
   }
 
   /**
@@ -985,8 +965,8 @@ public class Node {
    */
   @CanIgnoreReturnValue
   public final Node clonePropsFrom(Node other) {
-    checkState(this.propListHead == null, "Node has existing properties.");
-    this.propListHead = other.propListHead;
+    checkState(!this.hasProps(), "Node has existing properties.");
+    this.props = other.props;
     return this;
   }
 
@@ -999,7 +979,7 @@ public class Node {
    */
   @SuppressWarnings("EnumOrdinal") // performance tuning
   public void validateProperties(Consumer<String> violationMessageConsumer) {
-    if (propListHead == null) {
+    if (!hasProps()) {
       // TODO(bradfordcsmith): Fix the bugs that prevent enabling this validation.
       //
       // In particular:
@@ -1024,12 +1004,8 @@ public class Node {
       violationMessageConsumer.accept("ROOT has properties");
     }
 
-    for (PropListItem propListItem = propListHead;
-        propListItem != null;
-        propListItem = propListItem.next) {
-      final Prop prop = propValues[propListItem.propType];
-      // Catch it if the definition of Prop ever changes so that the ordinals don't line up.
-      checkState(prop.ordinal() == propListItem.propType, "ordinal doesn't match: %s", prop);
+    for (long bits = getPresentProps(); bits != 0; bits &= bits - 1) {
+      final Prop prop = propValues[Long.numberOfTrailingZeros(bits)];
 
       // TODO(bradfordcsmith): This is not yet an exhaustive list of validations.
       // Other validations should be added as it is found useful to have them.
@@ -1088,9 +1064,7 @@ public class Node {
           }
           break;
         case CLOSURE_UNAWARE_SHADOW:
-          PropListItem shadowProp = lookupProperty(Prop.CLOSURE_UNAWARE_SHADOW);
-          if (!(shadowProp instanceof Node.ObjectPropListItem)
-              || !(shadowProp.getObjectValue() instanceof Node)) {
+          if (!(getProp(Prop.CLOSURE_UNAWARE_SHADOW) instanceof Node)) {
             violationMessageConsumer.accept("CLOSURE_UNAWARE_SHADOW property must point to a Node");
           }
           break;
@@ -1101,30 +1075,16 @@ public class Node {
     }
   }
 
-  /**
-   * @param item The item to inspect
-   * @param prop The property to look for
-   * @return The replacement list if the property was removed, or 'item' otherwise.
-   */
-  @SuppressWarnings("EnumOrdinal") // performance tuning
-  private static @Nullable PropListItem rebuildListWithoutProp(
-      @Nullable PropListItem item, Prop prop) {
-    if (item == null) {
-      return null;
-    } else if (item.propType == prop.ordinal()) {
-      return item.next;
-    } else {
-      PropListItem result = rebuildListWithoutProp(item.next, prop);
-      return (result == item.next) ? item : item.chain(result);
-    }
-  }
-
   public final @Nullable Object getProp(Prop propType) {
-    PropListItem item = lookupProperty(propType);
-    if (item == null) {
-      return null;
+    Object[] objects = getObjectProps();
+    if (objects != null) {
+      for (int i = 0; i < objects.length; i += 2) {
+        if (objects[i] == propType) {
+          return objects[i + 1];
+        }
+      }
     }
-    return item.getObjectValue();
+    return null;
   }
 
   public final boolean getBooleanProp(Prop propType) {
@@ -1132,32 +1092,146 @@ public class Node {
   }
 
   /** Returns the integer value for the property, or 0 if the property is not defined. */
+  @SuppressWarnings("EnumOrdinal") // performance tuning
   private int getIntProp(Prop propType) {
-    PropListItem item = lookupProperty(propType);
-    if (item == null) {
+    Object p = this.props;
+    if (!(p instanceof PropSet)) {
       return 0;
     }
-    return item.getIntValue();
+    PropSet set = (PropSet) p;
+    if ((set.booleanProps & propBit(propType)) != 0) {
+      return 1;
+    }
+    int[] ints = set.intProps;
+    if (ints != null) {
+      int ordinal = propType.ordinal();
+      for (int i = 0; i < ints.length; i += 2) {
+        if (ints[i] == ordinal) {
+          return ints[i + 1];
+        }
+      }
+    }
+    return 0;
   }
 
-  @SuppressWarnings("EnumOrdinal") // performance tuning
   public final void putProp(Prop prop, @Nullable Object value) {
-    this.propListHead = rebuildListWithoutProp(this.propListHead, prop);
-    if (value != null) {
-      this.propListHead = new ObjectPropListItem((byte) prop.ordinal(), value, this.propListHead);
+    removeIntProp(prop);
+    Object[] objects = getObjectProps();
+    int index = -1;
+    if (objects != null) {
+      for (int i = 0; i < objects.length; i += 2) {
+        if (objects[i] == prop) {
+          index = i;
+          break;
+        }
+      }
+    }
+
+    // The arrays may be shared with other nodes, so they are copied rather than updated in place.
+    if (value == null) {
+      if (index >= 0) {
+        setObjectProps(removePair(objects, index));
+      }
+    } else if (index >= 0) {
+      if (objects[index + 1] != value) {
+        Object[] copy = objects.clone();
+        copy[index + 1] = value;
+        setObjectProps(copy);
+      }
+    } else if (objects == null) {
+      setObjectProps(new Object[] {prop, value});
+    } else {
+      Object[] copy = Arrays.copyOf(objects, objects.length + 2);
+      copy[objects.length] = prop;
+      copy[objects.length + 1] = value;
+      setObjectProps(copy);
     }
   }
 
+  private void setObjectProps(Object @Nullable [] objects) {
+    setProps(getBooleanProps(), getIntProps(), objects);
+  }
+
   public final void putBooleanProp(Prop propType, boolean value) {
     putIntProp(propType, value ? 1 : 0);
   }
 
+  /**
+   * Sets an int property. The value 1, which is how every boolean prop is stored, only takes a bit
+   * in {@link PropSet#booleanProps}; other non-zero values go into {@link PropSet#intProps}.
+   */
   @SuppressWarnings("EnumOrdinal") // performance tuning
   public final void putIntProp(Prop prop, int value) {
-    this.propListHead = rebuildListWithoutProp(this.propListHead, prop);
-    if (value != 0) {
-      this.propListHead = new IntPropListItem((byte) prop.ordinal(), value, this.propListHead);
+    if (getObjectProps() != null) {
+      putProp(prop, null);
+    }
+    long booleanProps = getBooleanProps();
+    int[] ints = removeFromIntProps(getIntProps(), prop);
+    long bit = propBit(prop);
+    if (value == 1) {
+      booleanProps |= bit;
+    } else {
+      booleanProps &= ~bit;
+      if (value != 0) {
+        int ordinal = prop.ordinal();
+        if (ints == null) {
+          ints = new int[] {ordinal, value};
+        } else {
+          int[] copy = Arrays.copyOf(ints, ints.length + 2);
+          copy[ints.length] = ordinal;
+          copy[ints.length + 1] = value;
+          ints = copy;
+        }
+      }
+    }
+    if (booleanProps != getBooleanProps() || ints != getIntProps()) {
+      setProps(booleanProps, ints, getObjectProps());
+    }
+  }
+
+  private void removeIntProp(Prop prop) {
+    long booleanProps = getBooleanProps() & ~propBit(prop);
+    int[] ints = removeFromIntProps(getIntProps(), prop);
+    if (booleanProps != getBooleanProps() || ints != getIntProps()) {
+      setProps(booleanProps, ints, getObjectProps());
+    }
+  }
+
+  /** Returns the given (ordinal, value) pairs without the pair for prop, copying if needed. */
+  @SuppressWarnings("EnumOrdinal") // performance tuning
+  private static int @Nullable [] removeFromIntProps(int @Nullable [] ints, Prop prop) {
+    if (ints == null) {
+      return null;
     }
+    int ordinal = prop.ordinal();
+    for (int i = 0; i < ints.length; i += 2) {
+      if (ints[i] == ordinal) {
+        if (ints.length == 2) {
+          return null;
+        }
+        int[] copy = new int[ints.length - 2];
+        System.arraycopy(ints, 0, copy, 0, i);
+        System.arraycopy(ints, i + 2, copy, i, ints.length - i - 2);
+        return copy;
+      }
+    }
+    return ints;
+  }
+
+  private static Object @Nullable [] removePair(Object[] objects, int index) {
+    if (objects.length == 2) {
+      return null;
+    }
+    Object[] copy = new Object[objects.length - 2];
+    System.arraycopy(objects, 0, copy, 0, index);
+    System.arraycopy(objects, index + 2, copy, index, objects.length - index - 2);
+    return copy;
+  }
+
+  /** Returns the value of a prop as a string, for debugging output. */
+  private String propToString(Prop prop) {
+    Object value = getProp(prop);
+    return value != null ? String.valueOf(value) : String.valueOf(getIntProp(prop));
   }
 
   static long nodePropertyToBit(NodeProperty prop) {
@@ -1182,17 +1256,16 @@ public class Node {
 
   public final long serializeProperties() {
     long propSet = 0;
-    for (PropListItem propListItem = this.propListHead;
-        propListItem != null;
-        propListItem = propListItem.next) {
-      Prop prop = propValues[propListItem.propType];
+    long objectProps = getObjectPropBits();
+    for (long bits = getPresentProps(); bits != 0; bits &= bits - 1) {
+      Prop prop = propValues[Long.numberOfTrailingZeros(bits)];
 
       switch (prop) {
         case TYPE_BEFORE_CAST:
           propSet = setNodePropertyBit(propSet, NodeProperty.COLOR_FROM_CAST);
           break;
         case CONSTANT_VAR_FLAGS:
-          int intVal = propListItem.getIntValue();
+          int intVal = getIntProp(prop);
           if (anyBitSet(intVal, ConstantVarFlags.INFERRED)) {
             propSet = setNodePropertyBit(propSet, NodeProperty.IS_INFERRED_CONSTANT);
           }
@@ -1201,7 +1274,7 @@ public class Node {
           }
           break;
         case SIDE_EFFECT_FLAGS:
-          propSet = setNodePropertySideEffectFlags(propSet, propListItem.getIntValue());
+          propSet = setNodePropertySideEffectFlags(propSet, getIntProp(prop));
           break;
         case CLOSURE_UNAWARE_SHADOW:
           // This is a bit of an unusual case, because the CLOSURE_UNAWARE_SHADOW Prop is a Node
@@ -1212,7 +1285,7 @@ public class Node {
           propSet = setNodePropertyBit(propSet, NodeProperty.CLOSURE_UNAWARE_SHADOW);
           break;
         default:
-          if (propListItem instanceof Node.IntPropListItem) {
+          if ((objectProps & propBit(prop)) == 0) {
             NodeProperty nodeProperty = PropTranslator.serialize(prop);
             if (nodeProperty != null) {
               propSet = setNodePropertyBit(propSet, nodeProperty);
@@ -1251,14 +1324,15 @@ public class Node {
   @SuppressWarnings("EnumOrdinal") // performance tuning
   public final void deserializeProperties(long propSet) {
     if (this.isRoot()) {
-      checkState(this.propListHead == null, this.propListHead);
+      checkState(!this.hasProps(), this);
     } else {
-      checkState(this.propListHead.propType == Prop.SOURCE_FILE.ordinal(), this.propListHead);
+      checkState(getProp(Prop.SOURCE_FILE) != null, this);
     }
 
     // We'll gather the bits for CONST_VAR_FLAGS and SIDE_EFFECT_FLAGS into these variables.
     int constantVarFlags = 0;
     int sideEffectFlags = 0;
+    long booleanProps = getBooleanProps();
     // Exclude the sign bit for clarity.
     for (int i = 0; i < 63; i++) {
       if (!hasBitSet(propSet, i)) {
@@ -1297,22 +1371,21 @@ public class Node {
           if (prop == null) {
             throw new IllegalStateException("Can not translate " + nodeProperty + " to AST Prop");
           }
-          this.propListHead = new IntPropListItem((byte) prop.ordinal(), 1, this.propListHead);
+          booleanProps |= propBit(prop);
           break;
       }
     }
+    if (booleanProps != getBooleanProps()) {
+      setProps(booleanProps, getIntProps(), getObjectProps());
+    }
 
     // Store the CONSTANT_VAR_FLAGS
     if (constantVarFlags != 0) {
-      this.propListHead =
-          new IntPropListItem(
-              (byte) Prop.CONSTANT_VAR_FLAGS.ordinal(), constantVarFlags, this.propListHead);
+      putIntProp(Prop.CONSTANT_VAR_FLAGS, constantVarFlags);
     }
 
     if (sideEffectFlags != 0) {
-      this.propListHead =
-          new IntPropListItem(
-              (byte) Prop.SIDE_EFFECT_FLAGS.ordinal(), sideEffectFlags, this.propListHead);
+      putIntProp(Prop.SIDE_EFFECT_FLAGS, sideEffectFlags);
     }
 
     // Make sure the deserialized properties are valid.
@@ -1365,23 +1438,6 @@ public class Node {
     return getBooleanProp(Prop.COLOR_FROM_CAST);
   }
 
-  // Gets all the property types, in sorted order.
-  private byte[] getSortedPropTypes() {
-    int count = 0;
-    for (PropListItem x = propListHead; x != null; x = x.next) {
-      count++;
-    }
-
-    byte[] keys = new byte[count];
-    for (PropListItem x = propListHead; x != null; x = x.next) {
-      count--;
-      keys[count] = x.propType;
-    }
-
-    Arrays.sort(keys);
-    return keys;
-  }
-
   public final double getDouble() {
     return ((NumberNode) this).number;
   }
@@ -1474,18 +1530,16 @@ public class Node {
     }
 
     if (printAnnotations) {
-      byte[] keys = getSortedPropTypes();
-      for (int i = 0; i < keys.length; i++) {
-        Prop type = propValues[keys[i]];
+      for (long bits = getPresentProps(); bits != 0; bits &= bits - 1) {
+        Prop type = propValues[Long.numberOfTrailingZeros(bits)];
         if (type == Prop.CLOSURE_UNAWARE_SHADOW) {
           sb.append(" [is_shadow_host]");
           continue;
         }
-        PropListItem x = lookupProperty(type);
         sb.append(" [");
         sb.append(Ascii.toLowerCase(String.valueOf(type)));
         sb.append(": ");
-        sb.append(x);
+        sb.append(propToString(type));
         sb.append(']');
       }
       if (this.originalName != null) {
@@ -1551,18 +1605,17 @@ public class Node {
       sb.append(createJsonPair("original_name", this.originalName));
     }
 
-    byte[] keys = getSortedPropTypes();
-    if (keys.length != 0) {
+    long props = getPresentProps();
+    if (props != 0) {
       sb.append(",");
       sb.append("\"props\":{");
-      for (int i = 0; i < keys.length; i++) {
-        Prop type = propValues[keys[i]];
-        PropListItem x = lookupProperty(type);
+      for (long bits = props; bits != 0; bits &= bits - 1) {
+        Prop type = propValues[Long.numberOfTrailingZeros(bits)];
         sb.append(
             createJsonPair(
                 Ascii.toLowerCase(String.valueOf(type)),
-                x.toString().replace("\n", "\\n").replace("\"", "\\\"")));
-        if (i + 1 < keys.length) {
+                propToString(type).replace("\n", "\\n").replace("\"", "\\\"")));
+        if ((bits & (bits - 1)) != 0) {
           sb.append(',');
         }
       }
@@ -1656,35 +1709,73 @@ public class Node {
   private transient @Nullable String originalName;
 
   /**
-   * Linked list of properties. Since vast majority of nodes would have no more than 2 properties,
-   * linked list saves memory and provides fast lookup. If this does not holds, propListHead can be
-   * replaced by UintMap.
+   * Properties: null if there are none, the (Prop, value) pairs array if there are only object
+   * props, and otherwise a {@link PropSet}. A single field keeps Node at its size from before the
+   * bitset existed.
+   *
+   * <p>Neither the arrays nor the PropSet are modified once assigned, so they can be shared between
+   * nodes: all the nodes parsed from a file share a single array holding their SOURCE_FILE.
    */
-  private transient @Nullable PropListItem propListHead;
+  private transient @Nullable Object props;
+
+  /**
+   * The int and boolean props of a node, along with its object props. Every prop holding the int
+   * value 1, which covers all boolean props, is a bit in {@code booleanProps}; other int values are
+   * (ordinal, value) pairs in {@code intProps}, and object values are (Prop, value) pairs in {@code
+   * objectProps}. Empty arrays are always null.
+   */
+  private static final class PropSet {
+    final long booleanProps;
+    final int @Nullable [] intProps;
+    final Object @Nullable [] objectProps;
+
+    PropSet(long booleanProps, int @Nullable [] intProps, Object @Nullable [] objectProps) {
+      this.booleanProps = booleanProps;
+      this.intProps = intProps;
+      this.objectProps = objectProps;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof PropSet)) {
+        return false;
+      }
+      PropSet that = (PropSet) o;
+      // The arrays are compared by identity, since they are never modified once shared.
+      return this.booleanProps == that.booleanProps
+          && this.intProps == that.intProps
+          && this.objectProps == that.objectProps;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * (31 * Long.hashCode(booleanProps) + System.identityHashCode(intProps))
+          + System.identityHashCode(objectProps);
+    }
+  }
 
   // ==========================================================================
   // Source position management
 
-  @SuppressWarnings("EnumOrdinal") // performance tuning
   public final void setStaticSourceFileFrom(Node other) {
-    // Make sure source file prop nodes are not duplicated.
-    if (other.propListHead != null
-        && (this.propListHead == null
-            || (this.propListHead.propType == Prop.SOURCE_FILE.ordinal()
-                && this.propListHead.next == null))) {
-      // Either the node has only Prop.SOURCE_FILE as a property or has not properties.
-      PropListItem tail = other.propListHead;
-      while (tail.next != null) {
-        tail = tail.next;
-      }
-      if (tail.propType == Prop.SOURCE_FILE.ordinal()) {
-        propListHead = tail;
-        return;
+    // Make sure source file prop arrays are not duplicated.
+    Object[] otherObjects = other.getObjectProps();
+    Object[] objects = getObjectProps();
+    if (hasOnlySourceFileObjectProp(otherObjects)
+        && (objects == null || hasOnlySourceFileObjectProp(objects))) {
+      // Either the node has only Prop.SOURCE_FILE as an object property or has none.
+      if (objects != otherObjects) {
+        setObjectProps(otherObjects);
       }
+      return;
     }
     setStaticSourceFile(other.getStaticSourceFile());
   }
 
+  private static boolean hasOnlySourceFileObjectProp(Object @Nullable [] objects) {
+    return objects != null && objects.length == 2 && objects[0] == Prop.SOURCE_FILE;
+  }
+
   @CanIgnoreReturnValue
   public final Node setStaticSourceFile(@Nullable StaticSourceFile file) {
     this.putProp(Prop.SOURCE_FILE, file);
@@ -1791,19 +1882,29 @@ public class Node {
   }
 
   public final int getLineno() {
-    if (this.linenoCharno == -1) {
+    return linenoOf(this.linenoCharno);
+  }
+
+  // Returns the 0-based column number
+  public final int getCharno() {
+    return charnoOf(this.linenoCharno);
+  }
+
+  /** Returns the line number from a packed source position. */
+  static int linenoOf(int linenoCharno) {
+    if (linenoCharno == -1) {
       return -1;
     } else {
-      return this.linenoCharno >>> CHARNO_BITS;
+      return linenoCharno >>> CHARNO_BITS;
     }
   }
 
-  // Returns the 0-based column number
-  public final int getCharno() {
-    if (this.linenoCharno == -1) {
+  /** Returns the column number from a packed source position. */
+  static int charnoOf(int linenoCharno) {
+    if (linenoCharno == -1) {
       return -1;
     } else {
-      return this.linenoCharno & MAX_COLUMN_NUMBER;
+      return linenoCharno & MAX_COLUMN_NUMBER;
     }
   }
 
@@ -1828,6 +1929,11 @@ public class Node {
     return linenoCharno;
   }
 
+  /** Sets the line and column, packed as returned by {@link #getSourcePosition()}. */
+  final void setSourcePosition(int linenoCharno) {
+    this.linenoCharno = linenoCharno;
+  }
+
   /**
    * CHARNO_BITS represents how many of the lower-order bits of linenoCharno are reserved for
    * storing the column number. Bits above these store the line number. This gives us decent
@@ -1938,12 +2044,16 @@ public class Node {
   // ==========================================================================
   // Accessors
 
-  final @Nullable PropListItem getPropListHeadForTesting() {
-    return propListHead;
+  final boolean sharesPropsWithForTesting(Node other) {
+    return Objects.equals(this.props, other.props);
   }
 
-  final void setPropListHead(@Nullable PropListItem propListHead) {
-    this.propListHead = propListHead;
+  /**
+   * Returns a key that is equal to the key of any other node sharing this node's property storage,
+   * so that nodes can be grouped by their properties without comparing their values.
+   */
+  final @Nullable Object getPropsKey() {
+    return props;
   }
 
   public final @Nullable Node getParent() {
@@ -2182,21 +2292,10 @@ public class Node {
       return false;
     }
 
-    EnumSet<Prop> propSet = EnumSet.noneOf(Prop.class);
-    for (PropListItem propListItem = this.propListHead;
-        propListItem != null;
-        propListItem = propListItem.next) {
-      Prop prop = propValues[propListItem.propType];
-      propSet.add(prop);
-    }
-    for (PropListItem propListItem = node.propListHead;
-        propListItem != null;
-        propListItem = propListItem.next) {
-      Prop prop = propValues[propListItem.propType];
-      propSet.add(prop);
-    }
-
-    for (Prop prop : propSet) {
+    for (long bits = this.getPresentProps() | node.getPresentProps();
+        bits != 0;
+        bits &= bits - 1) {
+      Prop prop = propValues[Long.numberOfTrailingZeros(bits)];
       if (propMapForEqualityKeys.contains(prop)) {
         Function<Node, Object> getter = PROP_MAP_FOR_EQUALITY.get(prop);
         if (!Objects.equals(getter.apply(this), getter.apply(node))) {
@@ -2521,7 +2620,7 @@ public class Node {
     dest.length = source.length;
     dest.jstypeOrColor = source.jstypeOrColor;
     dest.originalName = source.originalName;
-    dest.propListHead = source.propListHead;
+    dest.props = source.props;
 
     // TODO(johnlenz): Remove this once JSTypeExpression are immutable
     if (cloneTypeExprs) {
@@ -2659,6 +2758,19 @@ public class Node {
     return this;
   }
 
+  final @Nullable Object getJSTypeOrColor() {
+    return this.jstypeOrColor;
+  }
+
+  final void setJSTypeOrColor(@Nullable Object jstypeOrColor) {
+    this.jstypeOrColor = jstypeOrColor;
+  }
+
+  /** Whether this node holds a string, as returned by {@link #getString()}. */
+  final boolean hasStringValue() {
+    return this instanceof StringNode;
+  }
+
   /** Copies a nodes JSType or Color (if present) */
   @CanIgnoreReturnValue
   public final Node copyTypeFrom(Node other) {
@@ -2672,7 +2784,11 @@ public class Node {
    * @return the information or {@code null} if no JSDoc is attached to this node
    */
   public final @Nullable JSDocInfo getJSDocInfo() {
-    return (JSDocInfo) getProp(Prop.JSDOC_INFO);
+    Object info = getProp(Prop.JSDOC_INFO);
+    if (info instanceof DeferredJSDocInfo) {
+      return ((DeferredJSDocInfo) info).get();
+    }
+    return (JSDocInfo) info;
   }
 
   /** Sets the {@link JSDocInfo} attached to this node. */
@@ -2682,6 +2798,16 @@ public class Node {
     return this;
   }
 
+  /**
+   * Attaches a JSDoc comment that is only parsed once {@link #getJSDocInfo} is first called on this
+   * node or on a clone of it.
+   */
+  @CanIgnoreReturnValue
+  public final Node setDeferredJSDocInfo(DeferredJSDocInfo info) {
+    putProp(Prop.JSDOC_INFO, info);
+    return this;
+  }
+
   /** This node was last changed at {@code time} */
   public final void setChangeTime(int time) {
     putIntProp(Prop.CHANGE_TIME, time);
@@ -543,6 +543,7 @@ public class FunctionType extends PrototypeObjectType implements JSType.WithSour
     this.prototypeSlot =
         new Property("prototype", prototype, true, propertyNode == null ? source : propertyNode);
     prototype.setOwnerFunction(this);
+    registry.typeStructureChanged();
 
     if (oldPrototype != null) {
       // Disassociating the old prototype makes this easier to debug--
@@ -624,6 +625,7 @@ public class FunctionType extends PrototypeObjectType implements JSType.WithSour
     checkState(isConstructor());
 
     this.implementedInterfaces = ImmutableList.copyOf(implementedInterfaces);
+    registry.typeStructureChanged();
     for (ObjectType type : implementedInterfaces) {
       typeOfThis.mergeSupertypeTemplateTypes(type);
     }
@@ -643,6 +645,7 @@ public class FunctionType extends PrototypeObjectType implements JSType.WithSour
     checkState(isInterface());
 
     this.extendedInterfaces = ImmutableList.copyOf(extendedInterfaces);
+    registry.typeStructureChanged();
     for (ObjectType extendedInterface : extendedInterfaces) {
       typeOfThis.mergeSupertypeTemplateTypes(extendedInterface);
     }
@@ -1174,6 +1177,7 @@ public class FunctionType extends PrototypeObjectType implements JSType.WithSour
   public final void setImplicitMatch(boolean flag) {
     checkState(isInterface());
     isStructuralInterface = flag;
+    registry.typeStructureChanged();
   }
 
   @Override
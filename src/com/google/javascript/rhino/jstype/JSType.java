@@ -579,6 +579,7 @@ public abstract class JSType {
       other = registry.createTemplatizedType(other, ImmutableList.of());
     }
     templateTypeMap = other.getTemplateTypeMap().copyWithExtension(this.getTemplateTypeMap());
+    registry.typeStructureChanged();
   }
 
   /**
@@ -660,9 +661,12 @@ public abstract class JSType {
   final void maybeLoosenTypecheckingDueToForwardReferencedSupertype(JSType supertype) {
     // In the common case this method is never called with a resolved NamedType, but in some edge
     // cases it could be, and typechecking should not be loosened.
-    if ((supertype.isNamedType() && !supertype.isResolved())
-        || supertype.loosenTypecheckingDueToForwardReferencedSupertype()) {
+    if (!this.loosenTypecheckingDueToForwardReferencedSupertype
+        && ((supertype.isNamedType() && !supertype.isResolved())
+            || supertype.loosenTypecheckingDueToForwardReferencedSupertype())) {
       this.loosenTypecheckingDueToForwardReferencedSupertype = true;
+      // Subtyping checks of template types consult this flag.
+      registry.typeStructureChanged();
     }
   }
 
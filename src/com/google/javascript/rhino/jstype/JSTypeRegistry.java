@@ -42,6 +42,7 @@ package com.google.javascript.rhino.jstype;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
+import static com.google.javascript.jscomp.base.JSCompObjects.identical;
 import static com.google.javascript.rhino.jstype.JSTypeIterations.mapTypes;
 import static com.google.javascript.rhino.jstype.JSTypeNative.ALL_TYPE;
 import static com.google.javascript.rhino.jstype.JSTypeNative.BIGINT_NUMBER;
@@ -59,6 +60,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.MapMaker;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.MultimapBuilder;
 import com.google.common.collect.SetMultimap;
@@ -82,6 +84,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
 import org.jspecify.annotations.Nullable;
 
 /**
@@ -236,6 +240,16 @@ public final class JSTypeRegistry {
 
   private final JSTypeResolver resolver;
 
+  // Canonical instances of resolved templatized types and unions, keyed by the identity of their
+  // components, so that type inference doesn't create a new copy of the same type every time it
+  // needs one. The values are weak so that types that are no longer used can still be collected.
+  private final transient ConcurrentMap<InternKey, TemplatizedType> internedTemplatizedTypes =
+      new MapMaker().weakValues().makeMap();
+  private final transient ConcurrentMap<InternKey, UnionType> internedUnionTypes =
+      new MapMaker().weakValues().makeMap();
+
+  private final transient SubtypeResultCache subtypeResultCache = new SubtypeResultCache();
+
   public JSTypeRegistry(ErrorReporter reporter) {
     this(reporter, ImmutableSet.<String>of());
   }
@@ -1942,7 +1956,105 @@ public final class JSTypeRegistry {
     checkNotNull(baseType);
     // Only ObjectTypes can currently be templatized; extend this logic when
     // more types can be templatized.
-    return new TemplatizedType(this, baseType, templatizedTypes);
+    if (!canIntern(baseType, templatizedTypes)) {
+      return new TemplatizedType(this, baseType, templatizedTypes);
+    }
+    return internedTemplatizedTypes.computeIfAbsent(
+        new InternKey(baseType, templatizedTypes),
+        (key) -> new TemplatizedType(this, baseType, templatizedTypes));
+  }
+
+  /**
+   * Returns the canonical union of {@code alternates}, creating it with {@code factory} if there is
+   * none yet. The alternates must all be resolved.
+   */
+  UnionType internUnionType(ImmutableList<JSType> alternates, Supplier<UnionType> factory) {
+    return internedUnionTypes.computeIfAbsent(
+        new InternKey(null, alternates), (key) -> factory.get());
+  }
+
+  /**
+   * Whether a type made of {@code head} and {@code types} can be shared. Types that are still to
+   * be resolved can't be, since resolving them may create a different type.
+   */
+  boolean canIntern(@Nullable JSType head, List<JSType> types) {
+    if (!resolver.isClosed() || (head != null && !head.isResolved())) {
+      return false;
+    }
+    for (int i = 0; i < types.size(); i++) {
+      if (!types.get(i).isResolved()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Whether the result of a subtyping check between these types may be remembered. Like interning,
+   * this requires that both types are resolved.
+   */
+  boolean canCacheSubtyping(JSType subtype, JSType supertype) {
+    return resolver.isClosed() && subtype.isResolved() && supertype.isResolved();
+  }
+
+  SubtypeResultCache getSubtypeResultCache() {
+    return subtypeResultCache;
+  }
+
+  /**
+   * Records that a type has changed in a way that may affect its subtyping relationships, e.g. a
+   * new property or a different prototype.
+   */
+  void typeStructureChanged() {
+    subtypeResultCache.invalidate();
+  }
+
+  /** Returns the number of subtyping checks answered from the result cache. */
+  public long getSubtypeCacheHitCount() {
+    return subtypeResultCache.getHitCount();
+  }
+
+  /** Returns the number of cacheable subtyping checks that had to be computed. */
+  public long getSubtypeCacheMissCount() {
+    return subtypeResultCache.getMissCount();
+  }
+
+  /** A key of the intern tables, which compares its types by identity. */
+  private static final class InternKey {
+    private final @Nullable JSType head;
+    private final ImmutableList<JSType> types;
+    private final int hashCode;
+
+    InternKey(@Nullable JSType head, ImmutableList<JSType> types) {
+      this.head = head;
+      this.types = types;
+      int hash = System.identityHashCode(head);
+      for (int i = 0; i < types.size(); i++) {
+        hash = 31 * hash + System.identityHashCode(types.get(i));
+      }
+      this.hashCode = hash;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (!(other instanceof InternKey that)
+          || this.hashCode != that.hashCode
+          || !identical(this.head, that.head)
+          || this.types.size() != that.types.size()) {
+        return false;
+      }
+      for (int i = 0; i < types.size(); i++) {
+        if (!identical(this.types.get(i), that.types.get(i))) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
   }
 
   /**
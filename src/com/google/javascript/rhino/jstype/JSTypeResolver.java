@@ -170,9 +170,15 @@ public final class JSTypeResolver {
     checkState(this.captureStack.isEmpty());
 
     this.state = State.OPEN;
+    this.registry.typeStructureChanged();
     return new Closer();
   }
 
+  /** Whether new types are resolved as soon as they are created. */
+  boolean isClosed() {
+    return this.state.equals(State.CLOSED);
+  }
+
   private void resolveAll() {
     checkState(this.state.equals(State.OPEN));
     checkState(this.captureStack.isEmpty());
@@ -204,6 +204,7 @@ public class PrototypeObjectType extends ObjectType {
     Property newProp = new Property(
         name, type, inferred, propertyNode);
     properties.putProperty(name, newProp);
+    registry.typeStructureChanged();
     return true;
   }
 
@@ -373,6 +374,7 @@ public class PrototypeObjectType extends ObjectType {
   final void setImplicitPrototype(ObjectType implicitPrototype) {
     checkState(!hasCachedValues());
     this.implicitPrototypeFallback = implicitPrototype;
+    registry.typeStructureChanged();
     if (implicitPrototype != null) {
       maybeLoosenTypecheckingDueToForwardReferencedSupertype(implicitPrototype);
     }
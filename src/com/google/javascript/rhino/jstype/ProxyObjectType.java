@@ -106,6 +106,7 @@ public class ProxyObjectType extends ObjectType {
     } else {
       this.referencedObjType = null;
     }
+    registry.typeStructureChanged();
   }
 
   @Override
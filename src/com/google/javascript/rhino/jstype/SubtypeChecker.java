@@ -128,7 +128,28 @@ final class SubtypeChecker {
   boolean check() {
     checkHasNotRun();
     this.hasRun = true;
-    return this.isSubtypeCaching(this.initialSubtype, this.initialSupertype);
+
+    JSType subtype = this.initialSubtype;
+    JSType supertype = this.initialSupertype;
+    if (identical(subtype, supertype) || !this.registry.canCacheSubtyping(subtype, supertype)) {
+      return this.isSubtypeCaching(subtype, supertype);
+    }
+
+    SubtypeResultCache resultCache = this.registry.getSubtypeResultCache();
+    int version = resultCache.startCheck();
+    Boolean cached =
+        resultCache.get(subtype, supertype, this.isUsingStructuralTyping, this.subtypingMode);
+    if (cached != null) {
+      return cached;
+    }
+    boolean result = this.isSubtypeCaching(subtype, supertype);
+    // Checks that went deep enough to look for cycles may depend on the assumptions made for the
+    // pairs on the stack, so only the results of shallow checks are remembered.
+    if (this.subtypeCache == null) {
+      resultCache.put(
+          version, subtype, supertype, this.isUsingStructuralTyping, this.subtypingMode, result);
+    }
+    return result;
   }
 
   /**
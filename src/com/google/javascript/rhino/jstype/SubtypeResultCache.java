@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.rhino.jstype;
+
+import static com.google.javascript.jscomp.base.JSCompObjects.identical;
+
+import com.google.javascript.rhino.jstype.JSType.SubtypingMode;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Remembers the results of subtyping checks between resolved types, so that the same check isn't
+ * recomputed every time the type checker asks for it.
+ *
+ * <p>The cache is a fixed size table indexed by the hash of the pair of types, so a new result
+ * simply replaces whatever pair previously occupied its slot. Every entry records the structure
+ * version of the registry at the time the check started. Any change to the shape of a type, such
+ * as defining a property or setting a prototype, moves the registry to a new version, which
+ * invalidates all existing entries at once.
+ *
+ * <p>This class is thread-safe. Entries are immutable, so a racing reader sees either the old or
+ * the new entry of a slot.
+ */
+final class SubtypeResultCache {
+
+  /** The number of slots in the table. Must be a power of two. */
+  private static final int SIZE = 1 << 14;
+
+  private final AtomicReferenceArray<Entry> table = new AtomicReferenceArray<>(SIZE);
+  private final AtomicInteger version = new AtomicInteger();
+  private final LongAdder hitCount = new LongAdder();
+  private final LongAdder missCount = new LongAdder();
+
+  /**
+   * Whether a check started since the version last changed. This lets the common case of mutating
+   * a type that nobody has checked since the previous mutation avoid touching the version at all.
+   */
+  private volatile boolean versionObserved = false;
+
+  /** Returns the version to pass to {@link #put} for a check that is about to start. */
+  int startCheck() {
+    versionObserved = true;
+    return version.get();
+  }
+
+  /** Records that the structure of some type changed, invalidating every cached result. */
+  void invalidate() {
+    if (versionObserved) {
+      versionObserved = false;
+      version.incrementAndGet();
+    }
+  }
+
+  /** Returns the cached result of the given check, or null if it isn't known. */
+  @Nullable Boolean get(JSType subtype, JSType supertype, boolean structural, SubtypingMode mode) {
+    Entry entry = table.get(indexOf(subtype, supertype));
+    if (entry != null
+        && entry.version == version.get()
+        && identical(entry.subtype, subtype)
+        && identical(entry.supertype, supertype)
+        && entry.structural == structural
+        && entry.mode == mode) {
+      hitCount.increment();
+      return entry.result;
+    }
+    missCount.increment();
+    return null;
+  }
+
+  /**
+   * Stores the result of a check that started at {@code startVersion}. If some type changed while
+   * the check was running, the entry is stored with a stale version and is never read.
+   */
+  void put(
+      int startVersion,
+      JSType subtype,
+      JSType supertype,
+      boolean structural,
+      SubtypingMode mode,
+      boolean result) {
+    table.set(
+        indexOf(subtype, supertype),
+        new Entry(startVersion, subtype, supertype, structural, mode, result));
+  }
+
+  long getHitCount() {
+    return hitCount.sum();
+  }
+
+  long getMissCount() {
+    return missCount.sum();
+  }
+
+  private static int indexOf(JSType subtype, JSType supertype) {
+    int hash = 31 * System.identityHashCode(subtype) + System.identityHashCode(supertype);
+    return (hash ^ (hash >>> 16)) & (SIZE - 1);
+  }
+
+  private static final class Entry {
+    final int version;
+    final JSType subtype;
+    final JSType supertype;
+    final boolean structural;
+    final SubtypingMode mode;
+    final boolean result;
+
+    Entry(
+        int version,
+        JSType subtype,
+        JSType supertype,
+        boolean structural,
+        SubtypingMode mode,
+        boolean result) {
+      this.version = version;
+      this.subtype = subtype;
+      this.supertype = supertype;
+      this.structural = structural;
+      this.mode = mode;
+      this.result = result;
+    }
+  }
+}
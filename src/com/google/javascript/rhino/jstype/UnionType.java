@@ -753,6 +753,15 @@ public final class UnionType extends JSType {
         return this;
       }
 
+      // An alternate that is already present can only be found to duplicate itself, since it was
+      // compared against everything else when it was first added. Skip the subtyping checks, which
+      // dominate the cost of re-adding the alternates of a union, e.g. when joining flow scopes.
+      for (int index = 0; index < alternates.size(); index++) {
+        if (identical(alternates.get(index), alternate)) {
+          return this;
+        }
+      }
+
       // Look through the alternates we've got so far,
       // and check if any of them are duplicates of
       // one another.
@@ -836,6 +845,8 @@ public final class UnionType extends JSType {
             // case 9 & 7b: leave current, add alternate
           }
           // Otherwise leave both templatized types.
+        } else if (areUnrelatedByClass(alternate, current)) {
+          // Neither is a subtype of the other, so leave both.
         } else if (isSubtype(alternate, current)) {
           // Alternate is unnecessary.
           mayRegisterDroppedProperties(alternate, current);
@@ -869,6 +880,51 @@ public final class UnionType extends JSType {
       return this;
     }
 
+    /**
+     * Whether the classes of two distinct, known types alone show that neither is a subtype of the
+     * other when structural typing is off.
+     *
+     * <p>Different primitives are never subtypes of one another, and primitives and plain objects
+     * are unrelated in either direction. Enum elements, functions and proxies have their own
+     * subtyping rules, so they are always checked.
+     */
+    private static boolean areUnrelatedByClass(JSType left, JSType right) {
+      JSTypeClass leftClass = left.getTypeClass();
+      JSTypeClass rightClass = right.getTypeClass();
+      if (isPrimitiveClass(leftClass)) {
+        return isPrimitiveClass(rightClass)
+            ? !leftClass.equals(rightClass)
+            : isPlainObjectClass(rightClass);
+      }
+      return isPrimitiveClass(rightClass) && isPlainObjectClass(leftClass);
+    }
+
+    private static boolean isPrimitiveClass(JSTypeClass typeClass) {
+      switch (typeClass) {
+        case BIGINT:
+        case BOOLEAN:
+        case NULL:
+        case NUMBER:
+        case STRING:
+        case SYMBOL:
+        case VOID:
+          return true;
+        default:
+          return false;
+      }
+    }
+
+    private static boolean isPlainObjectClass(JSTypeClass typeClass) {
+      switch (typeClass) {
+        case INSTANCE_OBJECT:
+        case PROTOTYPE_OBJECT:
+        case RECORD:
+          return true;
+        default:
+          return false;
+      }
+    }
+
     private void mayRegisterDroppedProperties(JSType subtype, JSType supertype) {
       if (subtype.toMaybeRecordType() != null && supertype.toMaybeRecordType() != null) {
         registry.registerDroppedPropertiesInUnion(
@@ -892,6 +948,10 @@ public final class UnionType extends JSType {
         return this.finalAlternates.get(0);
       } else if (this.rebuildTarget != null) {
         return this.rebuildTarget;
+      } else if (this.alternatesResolvedBeforeBuild
+          && this.registry.canIntern(null, this.finalAlternates)) {
+        // A union of resolved types is never rebuilt, so it can be shared.
+        return this.registry.internUnionType(this.finalAlternates, () -> new UnionType(this));
       } else {
         return new UnionType(this);
       }
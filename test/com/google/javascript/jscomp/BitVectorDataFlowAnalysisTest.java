@@ -0,0 +1,161 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import com.google.javascript.jscomp.DataFlowAnalysis.LinearFlowState;
+import com.google.javascript.jscomp.graph.LatticeElement;
+import com.google.javascript.rhino.Node;
+import java.util.BitSet;
+import org.jspecify.annotations.Nullable;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class BitVectorDataFlowAnalysisTest {
+
+  private static final ImmutableList<String> NAMES = ImmutableList.of("a", "b", "c");
+
+  @Test
+  public void testStraightLine() {
+    LinearFlowState<Names> state = analyzeAtX("a = 1; X: b = 1;");
+
+    assertThat(state.getIn().names()).containsExactly("a");
+    assertThat(state.getOut().names()).containsExactly("a", "b");
+  }
+
+  @Test
+  public void testKill() {
+    LinearFlowState<Names> state = analyzeAtX("a = 1; b = 1; X: a = null;");
+
+    assertThat(state.getIn().names()).containsExactly("a", "b");
+    assertThat(state.getOut().names()).containsExactly("b");
+  }
+
+  @Test
+  public void testJoinIsUnion() {
+    LinearFlowState<Names> state = analyzeAtX("if (x) { a = 1; } else { b = 1; } X: x;");
+
+    assertThat(state.getIn().names()).containsExactly("a", "b");
+  }
+
+  @Test
+  public void testLoopBackEdge() {
+    LinearFlowState<Names> state = analyzeAtX("while (x) { X: x; a = 1; } c = 1;");
+
+    assertThat(state.getIn().names()).containsExactly("a");
+  }
+
+  @Test
+  public void testImplicitReturnJoinsExits() {
+    MaybeAssigned analysis = analyze("if (x) { a = 1; return; } b = 1;");
+
+    LinearFlowState<Names> state = analysis.getCfg().getImplicitReturn().getAnnotation();
+    assertThat(state.getIn().names()).containsExactly("a", "b");
+  }
+
+  private static LinearFlowState<Names> analyzeAtX(String src) {
+    MaybeAssigned analysis = analyze(src);
+    LinearFlowState<Names> state =
+        findStateAtX(analysis.getCfg().getEntry().getValue(), analysis.getCfg());
+    assertThat(state).isNotNull();
+    return state;
+  }
+
+  private static @Nullable LinearFlowState<Names> findStateAtX(
+      Node node, ControlFlowGraph<Node> cfg) {
+    if (node.isLabel() && node.getFirstChild().getString().equals("X")) {
+      return cfg.getNode(node.getLastChild()).getAnnotation();
+    }
+    for (Node c = node.getFirstChild(); c != null; c = c.getNext()) {
+      LinearFlowState<Names> state = findStateAtX(c, cfg);
+      if (state != null) {
+        return state;
+      }
+    }
+    return null;
+  }
+
+  private static MaybeAssigned analyze(String src) {
+    Compiler compiler = new Compiler();
+    compiler.initOptions(new CompilerOptions());
+    Node root = compiler.parseTestCode("function f() {" + src + "}").getFirstChild();
+    ControlFlowGraph<Node> cfg =
+        ControlFlowAnalysis.builder()
+            .setCompiler(compiler)
+            .setCfgRoot(root)
+            .setIncludeEdgeAnnotations(true)
+            .computeCfg();
+    MaybeAssigned analysis = new MaybeAssigned(cfg);
+    analysis.analyze();
+    return analysis;
+  }
+
+  /** The names in {@link #NAMES} that may hold a non-null value. */
+  private static final class MaybeAssigned extends BitVectorDataFlowAnalysis<Node, Names> {
+    MaybeAssigned(ControlFlowGraph<Node> cfg) {
+      super(cfg);
+    }
+
+    @Override
+    boolean isForward() {
+      return true;
+    }
+
+    @Override
+    int getBitCount() {
+      return NAMES.size();
+    }
+
+    @Override
+    void computeGenKillForNode(Node node, boolean conditional, BitSet gen, BitSet kill) {
+      if (!node.isExprResult() || !node.getFirstChild().isAssign()) {
+        return;
+      }
+      Node assign = node.getFirstChild();
+      int index = NAMES.indexOf(assign.getFirstChild().getString());
+      if (index < 0) {
+        return;
+      }
+      if (assign.getLastChild().isNull()) {
+        kill.set(index);
+      } else {
+        gen.set(index);
+      }
+    }
+
+    @Override
+    Names createLattice(BitSet bits) {
+      return new Names(bits);
+    }
+  }
+
+  private static final class Names implements LatticeElement {
+    private final BitSet bits;
+
+    Names(BitSet bits) {
+      this.bits = bits;
+    }
+
+    ImmutableList<String> names() {
+      return bits.stream().mapToObj(NAMES::get).collect(ImmutableList.toImmutableList());
+    }
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class CompileServerTest {
+
+  private final Gson gson = new Gson();
+  private final CompileServer server = new CompileServer(100);
+
+  @Test
+  public void testRepeatedRequestsAreCompiledIndependently() throws Exception {
+    String requests =
+        request("var x = 1 + 2;", "--compilation_level=SIMPLE")
+            + "\n"
+            + request("var y = 3 + 4;", "--compilation_level=WHITESPACE_ONLY")
+            + "\n";
+
+    List<CompileServer.Response> responses = serve(requests);
+
+    assertThat(responses).hasSize(2);
+    assertThat(responses.get(0).exitCode).isEqualTo(0);
+    assertThat(outputSource(responses.get(0))).isEqualTo("var x=3;\n");
+    assertThat(responses.get(1).exitCode).isEqualTo(0);
+    assertThat(outputSource(responses.get(1))).isEqualTo("var y=3+4;\n");
+  }
+
+  @Test
+  public void testErrorsAreReportedPerRequest() throws Exception {
+    String requests =
+        request("var x = ;", "--compilation_level=SIMPLE")
+            + "\n"
+            + request("var y = 1;", "--compilation_level=SIMPLE")
+            + "\n";
+
+    List<CompileServer.Response> responses = serve(requests);
+
+    assertThat(responses).hasSize(2);
+    assertThat(responses.get(0).exitCode).isNotEqualTo(0);
+    assertThat(responses.get(0).err).contains("ERROR");
+    assertThat(responses.get(1).exitCode).isEqualTo(0);
+    assertThat(responses.get(1).err).isEmpty();
+  }
+
+  @Test
+  public void testMalformedRequest() throws Exception {
+    List<CompileServer.Response> responses = serve("{args: \n");
+
+    assertThat(responses).hasSize(1);
+    assertThat(responses.get(0).exitCode).isEqualTo(-1);
+    assertThat(responses.get(0).err).startsWith("Malformed request");
+  }
+
+  @Test
+  public void testNullRequest() throws Exception {
+    String request = request("var x = 1 + 2;", "--compilation_level=SIMPLE");
+
+    List<CompileServer.Response> responses = serve("null\n" + request + "\n");
+
+    assertThat(responses).hasSize(2);
+    assertThat(responses.get(0).exitCode).isEqualTo(-1);
+    assertThat(responses.get(0).err).startsWith("Malformed request");
+    // The server keeps serving after a bad request.
+    assertThat(responses.get(1).exitCode).isEqualTo(0);
+    assertThat(outputSource(responses.get(1))).isEqualTo("var x=3;\n");
+  }
+
+  @Test
+  public void testUnchangedInputsAreNotReparsed() throws Exception {
+    String request = request("var x = 1 + 2;", "--compilation_level=SIMPLE") + "\n";
+
+    List<CompileServer.Response> responses = serve(request + request);
+
+    assertThat(responses).hasSize(2);
+    assertThat(outputSource(responses.get(1))).isEqualTo(outputSource(responses.get(0)));
+    assertThat(server.getParsedAstCache().getHitCount()).isGreaterThan(0);
+  }
+
+  private List<CompileServer.Response> serve(String requests) throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    server.serve(
+        new ByteArrayInputStream(requests.getBytes(UTF_8)), new PrintStream(out, true, UTF_8));
+    return out.toString(UTF_8)
+        .lines()
+        .map(line -> gson.fromJson(line, CompileServer.Response.class))
+        .toList();
+  }
+
+  private String request(String source, String... flags) {
+    JsonArray inputs = new JsonArray();
+    JsonObject input = new JsonObject();
+    input.addProperty("path", "in.js");
+    input.addProperty("src", source);
+    inputs.add(input);
+
+    JsonArray args = new JsonArray();
+    args.add("--json_streams=BOTH");
+    args.add("--env=CUSTOM");
+    for (String flag : flags) {
+      args.add(flag);
+    }
+
+    JsonObject request = new JsonObject();
+    request.add("args", args);
+    request.addProperty("in", gson.toJson(inputs));
+    return gson.toJson(request);
+  }
+
+  private String outputSource(CompileServer.Response response) {
+    JsonArray outputs = gson.fromJson(response.out, JsonArray.class);
+    assertThat(outputs.size()).isEqualTo(1);
+    return outputs.get(0).getAsJsonObject().get("src").getAsString();
+  }
+}
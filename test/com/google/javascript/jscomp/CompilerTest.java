@@ -40,6 +40,7 @@ import com.google.debugging.sourcemap.proto.Mapping.OriginalMapping;
 import com.google.debugging.sourcemap.proto.Mapping.OriginalMapping.Precision;
 import com.google.javascript.jscomp.Compiler.ScriptNodeLicensesOnlyTracker;
 import com.google.javascript.jscomp.CompilerOptions.LanguageMode;
+import com.google.javascript.jscomp.CompilerOptions.TracerMode;
 import com.google.javascript.jscomp.deps.ModuleLoader.ResolutionMode;
 import com.google.javascript.jscomp.serialization.AstNode;
 import com.google.javascript.jscomp.serialization.LazyAst;
@@ -51,6 +52,7 @@ import com.google.javascript.jscomp.testing.TestExternsBuilder;
 import com.google.javascript.rhino.IR;
 import com.google.javascript.rhino.InputId;
 import com.google.javascript.rhino.Node;
+import com.google.javascript.rhino.RhinoStringPool;
 import com.google.javascript.rhino.StaticSourceFile;
 import com.google.javascript.rhino.StaticSourceFile.SourceKind;
 import com.google.javascript.rhino.Token;
@@ -60,6 +62,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.PrintStream;
 import java.io.StringWriter;
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
@@ -67,6 +70,8 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import org.jspecify.annotations.Nullable;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -111,6 +116,47 @@ public final class CompilerTest {
     assertThat(cb.getColumnIndex()).isEqualTo(6);
   }
 
+  @Test
+  public void testStreamingCodeBuilder() throws IOException {
+    StringWriter out = new StringWriter();
+    Compiler.CodeBuilder cb = new Compiler.CodeBuilder(out);
+    String line = "a".repeat(1000) + ";\n";
+    for (int i = 0; i < 200; i++) {
+      cb.append(line);
+    }
+
+    assertThat(out.toString().length()).isLessThan(cb.getLength());
+    assertThat(cb.getLength()).isEqualTo(200 * line.length());
+    assertThat(cb.getLineIndex()).isEqualTo(200);
+    assertThat(cb.getColumnIndex()).isEqualTo(0);
+    assertThat(cb.endsWith(";\n")).isTrue();
+
+    cb.flush();
+
+    assertThat(out.toString()).isEqualTo(line.repeat(200));
+  }
+
+  @Test
+  public void testToSourceStreamsChunk() throws IOException {
+    JSChunk chunk = new JSChunk("m");
+    chunk.add(SourceFile.fromCode("a.js", "/** @license A */ var a = 1;"));
+    chunk.add(SourceFile.fromCode("b.js", "var b = a + 1"));
+    CompilerOptions options = new CompilerOptions();
+    options.setEmitUseStrict(false);
+    options.setPrintInputDelimiter(true);
+    Compiler compiler = new Compiler();
+    compiler.initChunks(ImmutableList.of(), ImmutableList.of(chunk), options);
+    compiler.parse();
+
+    StringWriter out = new StringWriter();
+    compiler.toSource(out, new ScriptNodeLicensesOnlyTracker(compiler), chunk);
+
+    assertThat(out.toString())
+        .isEqualTo(compiler.toSource(new ScriptNodeLicensesOnlyTracker(compiler), chunk));
+    assertThat(out.toString())
+        .isEqualTo(lines("// Input 0", "/*", " A */", "var a=1;", "// Input 1", "var b=a+1;"));
+  }
+
   @Test
   public void testCyclicalDependencyInInputs() {
     ImmutableList<SourceFile> inputs =
@@ -1819,6 +1865,60 @@ public final class CompilerTest {
     assertThat(result.errors).isEmpty();
   }
 
+  @Test
+  public void testPrunedInputIsNeverParsed() throws Exception {
+    // The unreachable input has a syntax error, which would be reported if it were parsed
+    // before being pruned.
+    ImmutableList<SourceFile> inputs =
+        ImmutableList.of(
+            SourceFile.fromCode(
+                "/base.js",
+                "/** @provideGoog */ var goog = {}; goog.provide = goog.require = function(ns) {};"),
+            SourceFile.fromCode("/a.js", "goog.provide('a'); goog.require('b'); var x = b;"),
+            SourceFile.fromCode("/b.js", "goog.provide('b'); var b = 1;"),
+            SourceFile.fromCode("/c.js", "goog.provide('c'); var c = ;"));
+
+    ImmutableList<ModuleIdentifier> entryPoints =
+        ImmutableList.of(ModuleIdentifier.forClosure("a"));
+
+    CompilerOptions options = createNewFlagBasedOptions();
+    options.setDependencyOptions(DependencyOptions.pruneForEntryPoints(entryPoints));
+
+    Compiler compiler = new Compiler();
+    compiler.compile(ImmutableList.<SourceFile>of(), inputs, options);
+
+    Result result = compiler.getResult();
+    assertThat(result.errors).isEmpty();
+    assertThat(compiler.getInput(new InputId("/c.js"))).isNull();
+  }
+
+  @Test
+  public void testPrunedEsModuleIsNeverParsed() throws Exception {
+    ImmutableList<SourceFile> inputs =
+        ImmutableList.of(
+            SourceFile.fromCode("/a.js", "import {b} from './b.js'; alert(b);"),
+            SourceFile.fromCode("/b.js", "export const b = 1;"),
+            SourceFile.fromCode("/c.js", "export const c = ;"));
+
+    ImmutableList<ModuleIdentifier> entryPoints =
+        ImmutableList.of(ModuleIdentifier.forFile("/a.js"));
+
+    CompilerOptions options = createNewFlagBasedOptions();
+    options.setLanguageIn(LanguageMode.ECMASCRIPT_2017);
+    options.setLanguageOut(LanguageMode.ECMASCRIPT5);
+    options.setDependencyOptions(DependencyOptions.pruneForEntryPoints(entryPoints));
+    ImmutableList<SourceFile> externs =
+        ImmutableList.of(
+            new TestExternsBuilder().addAlert().buildExternsFile("default_externs.js"));
+
+    Compiler compiler = new Compiler();
+    compiler.compile(externs, inputs, options);
+
+    Result result = compiler.getResult();
+    assertThat(result.errors).isEmpty();
+    assertThat(compiler.getInput(new InputId("/c.js"))).isNull();
+  }
+
   @Test
   public void testExternsFileAsEntryPoint() throws Exception {
     // Test that you can specify externs as entry points.
@@ -3452,4 +3552,50 @@ public final class CompilerTest {
     assertThat(compiler.getInputsById().get(syntheticExterns.getInputId()))
         .isSameInstanceAs(syntheticExterns);
   }
+
+  @Test
+  public void testParallelParseReportsDiagnosticsInInputOrder() {
+    CompilerOptions options = new CompilerOptions();
+    options.setNumParallelThreads(4);
+    List<String> reportedFiles = new ArrayList<>();
+    options.setErrorHandler((level, error) -> reportedFiles.add(error.getSourceName()));
+    List<String> expectedFiles = new ArrayList<>();
+    List<SourceFile> inputs = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      String name = "input" + i + ".js";
+      expectedFiles.add(name);
+      inputs.add(SourceFile.fromCode(name, "var x" + i + " = ;"));
+    }
+    Compiler compiler = new Compiler();
+    compiler.init(ImmutableList.of(), inputs, options);
+
+    compiler.parse();
+
+    assertThat(reportedFiles).containsExactlyElementsIn(expectedFiles).inOrder();
+  }
+
+  @Test
+  public void testTracerReportsStringPoolLookupsOfThisCompilationOnly() {
+    SourceFile input = SourceFile.fromCode("input.js", "var longIdentifierName = 1;");
+    compileWithTracer(input);
+
+    long lookups = compileWithTracer(input);
+
+    assertThat(lookups).isGreaterThan(0);
+    assertThat(lookups).isLessThan(RhinoStringPool.getLookupCount());
+  }
+
+  /** Compiles the input and returns the string pool lookups reported by the tracer. */
+  private static long compileWithTracer(SourceFile input) {
+    CompilerOptions options = new CompilerOptions();
+    options.setTracerMode(TracerMode.TIMING_ONLY);
+    ByteArrayOutputStream report = new ByteArrayOutputStream();
+    Compiler compiler = new Compiler(new PrintStream(report, true, UTF_8));
+    compiler.compile(EMPTY_EXTERNS, ImmutableList.of(input), options);
+
+    Matcher lookups =
+        Pattern.compile("String pool lookups: (\\d+)").matcher(report.toString(UTF_8));
+    assertThat(lookups.find()).isTrue();
+    return Long.parseLong(lookups.group(1));
+  }
 }
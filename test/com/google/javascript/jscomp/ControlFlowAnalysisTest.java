@@ -1954,6 +1954,46 @@ public final class ControlFlowAnalysisTest {
     assertReturnEdge(cfg2, Token.EXPR_RESULT);
   }
 
+  @Test
+  public void testCfgRootedAtArrowFunctionReturningArrowFunction() {
+    String src = "var f = x =>\n y => x + y;";
+    Compiler compiler = new Compiler();
+    Node globalRoot = compiler.parseSyntheticCode("cfgtest", src);
+    Node outerArrow = CodeSubTree.findFirstNode(globalRoot, Node::isFunction);
+
+    ControlFlowGraph<Node> cfg =
+        ControlFlowAnalysis.builder().setCompiler(compiler).setCfgRoot(outerArrow).computeCfg();
+
+    Node innerArrow = outerArrow.getLastChild();
+    assertThat(innerArrow.isFunction()).isTrue();
+    assertThat(cfg.getDirectedSuccNodes(cfg.getNode(outerArrow)))
+        .containsExactly(cfg.getNode(innerArrow));
+  }
+
+  @Test
+  public void testEdgesAreListedOnBothEnds() {
+    ControlFlowGraph<Node> cfg =
+        createCfg(
+            lines(
+                "function f() {",
+                "  try { while (x) { if (y) break; else continue; } }",
+                "  catch (e) { return e; }",
+                "  finally { z(); }",
+                "}"));
+
+    int inEdgeCount = 0;
+    for (DiGraphNode<Node, Branch> node : cfg.getNodes()) {
+      for (DiGraphEdge<Node, Branch> edge : node.getOutEdges()) {
+        assertThat(edge.getSource()).isSameInstanceAs(node);
+        assertThat(edge.getDestination().getInEdges()).contains(edge);
+      }
+      inEdgeCount += node.getInEdges().size();
+    }
+    assertThat(inEdgeCount).isEqualTo(cfg.getEdges().size());
+    assertThat(cfg.getImplicitReturn().getOutEdges()).isEmpty();
+    assertThat(cfg.getImplicitReturn().getInEdges()).isNotEmpty();
+  }
+
   /**
    * Asserts the priority order of CFG nodes.
    *
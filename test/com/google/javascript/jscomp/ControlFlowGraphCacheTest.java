@@ -0,0 +1,190 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.collect.ImmutableList;
+import com.google.javascript.jscomp.ControlFlowGraph.Branch;
+import com.google.javascript.jscomp.graph.DiGraph.DiGraphEdge;
+import com.google.javascript.jscomp.graph.LatticeElement;
+import com.google.javascript.rhino.IR;
+import com.google.javascript.rhino.Node;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class ControlFlowGraphCacheTest {
+
+  private Compiler compiler;
+  private Node function;
+
+  @Before
+  public void setUp() {
+    compiler = new Compiler();
+    CompilerOptions options = new CompilerOptions();
+    options.setCacheControlFlowGraphs(true);
+    compiler.initOptions(options);
+    Node script = compiler.parseTestCode("function f(x) { if (x) { return 1; } return 2; }");
+    function = script.getFirstChild();
+  }
+
+  @Test
+  public void testUnchangedFunctionIsNotAnalyzedAgain() {
+    ControlFlowGraph<Node> first = computeCfg(function);
+    ControlFlowGraph<Node> second = computeCfg(function);
+
+    assertThat(cache().getMissCount()).isEqualTo(1);
+    assertThat(cache().getHitCount()).isEqualTo(1);
+    assertThat(describe(second)).isEqualTo(describe(first));
+  }
+
+  @Test
+  public void testEveryLookupGetsItsOwnAnnotations() {
+    ControlFlowGraph<Node> first = computeCfg(function);
+    first.getEntry().setAnnotation(new LatticeElement() {});
+    first.getEntry().getOutEdges().get(0).setAnnotation(new LatticeElement() {});
+
+    ControlFlowGraph<Node> second = computeCfg(function);
+
+    assertThat(second).isNotSameInstanceAs(first);
+    assertThat(second.getEntry().<LatticeElement>getAnnotation()).isNull();
+    assertThat(second.getEntry().getOutEdges().get(0).<LatticeElement>getAnnotation()).isNull();
+    assertThat(first.getEntry().<LatticeElement>getAnnotation()).isNotNull();
+  }
+
+  @Test
+  public void testReportedChangeRecomputesGraph() {
+    computeCfg(function);
+    Node ifNode = function.getLastChild().getFirstChild();
+    ifNode.replaceWith(IR.exprResult(IR.number(0)));
+    compiler.reportChangeToChangeScope(function);
+
+    ControlFlowGraph<Node> cfg = computeCfg(function);
+
+    assertThat(cache().getMissCount()).isEqualTo(2);
+    assertThat(cfg.getNode(ifNode)).isNull();
+  }
+
+  @Test
+  public void testChangeToInnerFunctionKeepsOuterGraph() {
+    Node script =
+        compiler.parseTestCode("function f() { var g = function() { return 1; }; return g; }");
+    Node outer = script.getFirstChild();
+    Node inner = outer.getLastChild().getFirstChild().getFirstFirstChild();
+    computeCfg(outer);
+
+    compiler.reportChangeToChangeScope(inner);
+    computeCfg(outer);
+
+    assertThat(cache().getHitCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void testDeletedFunctionIsDropped() {
+    computeCfg(function);
+    function.detach();
+
+    compiler.reportFunctionDeleted(function);
+
+    assertThat(cache().size()).isEqualTo(0);
+  }
+
+  @Test
+  public void testGraphsOfNestedFunctionsAreNotCached() {
+    ControlFlowAnalysis.builder()
+        .setCompiler(compiler)
+        .setCfgRoot(function)
+        .setTraverseFunctions(true)
+        .setIncludeEdgeAnnotations(true)
+        .computeCfg();
+
+    assertThat(cache().size()).isEqualTo(0);
+  }
+
+  @Test
+  public void testDetachedFunctionsAreEvicted() {
+    StringBuilder code = new StringBuilder();
+    for (int i = 0; i < 100; i++) {
+      code.append("function f").append(i).append("() { return 1; }");
+    }
+    Node script = compiler.parseTestCode(code.toString());
+    IR.root(script);
+    ImmutableList<Node> functions = ImmutableList.copyOf(script.children());
+    for (Node f : functions.subList(0, 10)) {
+      computeCfg(f);
+    }
+    for (Node f : functions.subList(0, 10)) {
+      f.detach();
+    }
+
+    for (Node f : functions.subList(10, 100)) {
+      computeCfg(f);
+    }
+
+    assertThat(cache().size()).isEqualTo(90);
+  }
+
+  @Test
+  public void testUnreportedChangeFailsInDevMode() {
+    CompilerOptions options = new CompilerOptions();
+    options.setCacheControlFlowGraphs(true);
+    options.setDevMode(CompilerOptions.DevMode.EVERY_PASS);
+    compiler.initOptions(options);
+    computeCfg(function);
+    function.getLastChild().getFirstChild().replaceWith(IR.exprResult(IR.number(0)));
+
+    assertThrows(IllegalStateException.class, () -> computeCfg(function));
+  }
+
+  @Test
+  public void testCacheIsOffByDefault() {
+    compiler.initOptions(new CompilerOptions());
+
+    assertThat(compiler.getControlFlowGraphCache()).isNull();
+    assertThat(describe(computeCfg(function))).isNotEmpty();
+  }
+
+  private ControlFlowGraphCache cache() {
+    return compiler.getControlFlowGraphCache();
+  }
+
+  /** Lists the edges of the graph, along with the priorities of their ends. */
+  private static ImmutableList<String> describe(ControlFlowGraph<Node> cfg) {
+    ImmutableList.Builder<String> edges = ImmutableList.builder();
+    for (DiGraphEdge<Node, Branch> edge : cfg.getEdges()) {
+      edges.add(
+          edge.getSource().getPriority()
+              + " -"
+              + edge.getValue()
+              + "-> "
+              + edge.getDestination().getPriority());
+    }
+    return edges.build();
+  }
+
+  private ControlFlowGraph<Node> computeCfg(Node root) {
+    return ControlFlowAnalysis.builder()
+        .setCompiler(compiler)
+        .setCfgRoot(root)
+        .setIncludeEdgeAnnotations(true)
+        .computeCfg();
+  }
+}
@@ -138,6 +138,46 @@ public final class LinkedFlowScopeTest extends CompilerTypeTestCase {
         .isEqualTo(join(childB, childA));
   }
 
+  @Test
+  public void testJoinMany() {
+    localScope.declare("localC", null, getNativeStringType(), null, true);
+
+    FlowScope childA = localEntry.inferSlotType("localC", getNativeNumberType());
+    FlowScope childB = localEntry.inferSlotType("localB", getNativeBooleanType());
+    FlowScope childC = childA.inferSlotType("localA", getNativeStringType());
+
+    LinkedFlowScope.JoinStatistics statistics = new LinkedFlowScope.JoinStatistics();
+    LinkedFlowScope.FlowScopeJoinOp joiner =
+        new LinkedFlowScope.FlowScopeJoinOp(compiler, statistics);
+    joiner.joinFlow(childA);
+    joiner.joinFlow(childB);
+    joiner.joinFlow(childC);
+    FlowScope joined = joiner.finish();
+
+    assertTypeEquals(
+        createUnionType(getNativeStringType(), getNativeNumberType()),
+        joined.getSlot("localC").getType());
+    assertTypeEquals(getNativeBooleanType(), joined.getSlot("localB").getType());
+    assertTypeEquals(getNativeStringType(), joined.getSlot("localA").getType());
+    assertThat(joined).isEqualTo(join(join(childA, childB), childC));
+    assertThat(statistics.getJoinCount()).isEqualTo(1);
+    assertThat(statistics.getSlotsMergedCount()).isEqualTo(3);
+  }
+
+  @Test
+  public void testJoinSkipsRepeatedInputs() {
+    FlowScope childA = localEntry.inferSlotType("localA", getNativeNumberType());
+
+    LinkedFlowScope.JoinStatistics statistics = new LinkedFlowScope.JoinStatistics();
+    LinkedFlowScope.FlowScopeJoinOp joiner =
+        new LinkedFlowScope.FlowScopeJoinOp(compiler, statistics);
+    joiner.joinFlow(childA);
+    joiner.joinFlow(childA);
+
+    assertThat(joiner.finish()).isSameInstanceAs(childA);
+    assertThat(statistics.getJoinCount()).isEqualTo(0);
+  }
+
   /** Create a long chain of flow scopes. */
   @Test
   public void testLongChain() {
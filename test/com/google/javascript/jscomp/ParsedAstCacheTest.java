@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.javascript.jscomp;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.javascript.rhino.testing.NodeSubject.assertNode;
+
+import com.google.javascript.rhino.JSDocInfo;
+import com.google.javascript.rhino.Node;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class ParsedAstCacheTest {
+
+  private final ParsedAstCache cache = new ParsedAstCache(10);
+
+  @Test
+  public void testUnchangedFileIsServedFromCache() {
+    String code = "/** @type {number} */ var x = 1; function f(a) { return a; }";
+    SourceFile first = SourceFile.fromCode("a.js", code);
+    SourceFile second = SourceFile.fromCode("a.js", code);
+
+    Node firstRoot = parse(first);
+    Node secondRoot = parse(second);
+
+    assertThat(cache.getMissCount()).isEqualTo(1);
+    assertThat(cache.getHitCount()).isEqualTo(1);
+    assertNode(secondRoot).isEquivalentTo(firstRoot);
+    assertThat(secondRoot).isNotSameInstanceAs(firstRoot);
+  }
+
+  @Test
+  public void testCachedTreeIsAttributedToTheNewSourceFile() {
+    String code = "/** @type {number} */ var x = 1;";
+    parse(SourceFile.fromCode("a.js", code));
+    SourceFile second = SourceFile.fromCode("a.js", code);
+
+    Node root = parse(second);
+
+    NodeUtil.visitPreOrder(
+        root, (Node n) -> assertThat(n.getStaticSourceFile()).isSameInstanceAs(second));
+    JSDocInfo info = root.getFirstChild().getJSDocInfo();
+    assertThat(info.getType().getRoot().getStaticSourceFile()).isSameInstanceAs(second);
+  }
+
+  @Test
+  public void testMutatingAParsedTreeDoesNotAffectTheCache() {
+    String code = "var x = 1;";
+    Node firstRoot = parse(SourceFile.fromCode("a.js", code));
+    firstRoot.getFirstFirstChild().setString("y");
+
+    Node secondRoot = parse(SourceFile.fromCode("a.js", code));
+
+    assertThat(cache.getHitCount()).isEqualTo(1);
+    assertThat(secondRoot.getFirstFirstChild().getString()).isEqualTo("x");
+  }
+
+  @Test
+  public void testChangedFileIsReparsed() {
+    parse(SourceFile.fromCode("a.js", "var x = 1;"));
+    Node root = parse(SourceFile.fromCode("a.js", "var x = 2;"));
+
+    assertThat(cache.getMissCount()).isEqualTo(2);
+    assertThat(cache.getHitCount()).isEqualTo(0);
+    assertThat(root.getFirstFirstChild().getFirstChild().getDouble()).isEqualTo(2.0);
+  }
+
+  @Test
+  public void testParsesWithDiagnosticsAreNotCached() {
+    String code = "var x = ;";
+    Compiler first = parseWithCompiler(SourceFile.fromCode("a.js", code));
+    Compiler second = parseWithCompiler(SourceFile.fromCode("a.js", code));
+
+    assertThat(cache.size()).isEqualTo(0);
+    assertThat(first.getErrorCount()).isEqualTo(1);
+    assertThat(second.getErrorCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void testLeastRecentlyUsedEntryIsEvicted() {
+    ParsedAstCache smallCache = new ParsedAstCache(1);
+    Compiler compiler = newCompiler(smallCache);
+    new CompilerInput(SourceFile.fromCode("a.js", "var a;")).getAstRoot(compiler);
+    new CompilerInput(SourceFile.fromCode("b.js", "var b;")).getAstRoot(compiler);
+
+    assertThat(smallCache.size()).isEqualTo(1);
+  }
+
+  private Node parse(SourceFile file) {
+    return new CompilerInput(file).getAstRoot(newCompiler(cache));
+  }
+
+  private Compiler parseWithCompiler(SourceFile file) {
+    Compiler compiler = newCompiler(cache);
+    new CompilerInput(file).getAstRoot(compiler);
+    return compiler;
+  }
+
+  private static Compiler newCompiler(ParsedAstCache cache) {
+    Compiler compiler = new Compiler();
+    compiler.initOptions(new CompilerOptions());
+    compiler.setParsedAstCache(cache);
+    return compiler;
+  }
+}
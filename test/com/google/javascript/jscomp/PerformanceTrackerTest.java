@@ -20,6 +20,9 @@ import static com.google.common.truth.Truth.assertThat;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
 import com.google.javascript.jscomp.CompilerOptions.TracerMode;
 import com.google.javascript.jscomp.PerformanceTracker.Stats;
 import com.google.javascript.rhino.IR;
@@ -27,6 +30,8 @@ import com.google.javascript.rhino.Node;
 import com.google.javascript.rhino.Token;
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.regex.Pattern;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -155,6 +160,10 @@ public final class PerformanceTrackerTest {
                 "Wall time\\(ms\\): [0-9]+",
                 "Passes runtime\\(ms\\): [0-9]+",
                 "Max mem usage \\(measured after each pass\\)\\(MB\\): -?[0-9]+",
+                "Passes allocated memory\\(MB\\): [0-9]+",
+                "Passes CPU time\\(ms\\): [0-9]+",
+                "#GCs during passes: [0-9]+",
+                "GC time during passes\\(ms\\): [0-9]+",
                 "#Runs: [0-9]+",
                 "#Changing runs: [0-9]+",
                 "#Loopable runs: [0-9]+",
@@ -168,6 +177,13 @@ public final class PerformanceTrackerTest {
                 "",
                 "DisambiguateProperties: not executed",
                 "AmbiguateProperties: not executed",
+                "Subtype cache hits: [0-9]+",
+                "Subtype cache misses: [0-9]+",
+                "Flow scope joins: [0-9]+",
+                "Flow scope slots merged: [0-9]+",
+                "String pool size: [0-9]+",
+                "String pool lookups: [0-9]+",
+                "String pool hits: [0-9]+",
                 "",
                 "Inputs:",
                 "JS lines:   [0-9]+",
@@ -176,16 +192,93 @@ public final class PerformanceTrackerTest {
                 "Extern sources: [0-9]+",
                 "",
                 "Summary:",
-                "pass,runtime,allocMem,runs,changingRuns,astReduction,reduction,gzReduction",
+                "pass,runtime,allocMem,runs,changingRuns,astReduction,reduction,gzReduction,"
+                    + "allocatedBytes,cpuTime,gcCount,gcTime",
                 "",
                 "Log:",
-                "pass,runtime,allocMem,codeChanged,astReduction,reduction,gzReduction,astSize,size,gzSize",
+                "pass,runtime,allocMem,codeChanged,astReduction,reduction,gzReduction,astSize,size,"
+                    + "gzSize,allocatedBytes,cpuTime,gcCount,gcTime",
                 ".*"),
             Pattern.DOTALL);
 
     assertThat(report).matches(p);
   }
 
+  @Test
+  public void testAllocationsAreAttributedToThePass() {
+    PerformanceTracker tracker =
+        new PerformanceTracker(emptyExternRoot, emptyJsRoot, TracerMode.TIMING_ONLY);
+
+    tracker.recordPassStart("allocating", true);
+    List<int[]> garbage = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      garbage.add(new int[10_000]);
+    }
+    tracker.recordPassStop("allocating", 5);
+
+    assertThat(garbage).hasSize(100);
+    Stats stats = tracker.getStats().get("allocating");
+    if (Platform.currentThreadAllocatedBytes() >= 0) {
+      assertThat(stats.allocatedBytes).isAtLeast(100 * 10_000 * 4);
+    }
+    assertThat(stats.cpuTimeNanos).isAtLeast(0);
+    assertThat(stats.gcCount).isAtLeast(0);
+  }
+
+  @Test
+  public void testJsonReport() throws Exception {
+    PerformanceTracker tracker =
+        new PerformanceTracker(emptyExternRoot, emptyJsRoot, TracerMode.TIMING_ONLY);
+    tracker.recordPassStart("passA", true);
+    tracker.recordPassStop("passA", 5);
+    tracker.recordPassStart("passA", true);
+    tracker.recordPassStop("passA", 7);
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    try (PrintStream outstream = new PrintStream(output)) {
+      tracker.outputJsonReport(outstream);
+    }
+    JsonObject report = JsonParser.parseString(output.toString(UTF_8)).getAsJsonObject();
+
+    JsonArray summary = report.getAsJsonArray("summary");
+    assertThat(summary.size()).isEqualTo(1);
+    JsonObject passA = summary.get(0).getAsJsonObject();
+    assertThat(passA.get("pass").getAsString()).isEqualTo("passA");
+    assertThat(passA.get("runs").getAsInt()).isEqualTo(2);
+    assertThat(passA.get("runtime").getAsLong()).isEqualTo(12);
+    assertThat(passA.has("allocatedBytes")).isTrue();
+    // CPU time is summed in nanoseconds and only then converted to milliseconds.
+    assertThat(passA.get("cpuTime").getAsLong())
+        .isEqualTo(tracker.getStats().get("passA").cpuTimeNanos / 1_000_000);
+    assertThat(passA.has("gcTime")).isTrue();
+    assertThat(report.getAsJsonArray("log").size()).isEqualTo(2);
+  }
+
+  @Test
+  public void testOpenMetricsReport() {
+    PerformanceTracker tracker =
+        new PerformanceTracker(emptyExternRoot, emptyJsRoot, TracerMode.TIMING_ONLY);
+    tracker.recordPassStart("pass\"A", true);
+    tracker.recordPassStop("pass\"A", 1500);
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    try (PrintStream outstream = new PrintStream(output)) {
+      tracker.outputOpenMetricsReport(outstream);
+    }
+    String report = output.toString(UTF_8);
+
+    assertThat(report).contains("# TYPE jscomp_pass_runs counter\n");
+    assertThat(report).contains("jscomp_pass_runs_total{pass=\"pass\\\"A\"} 1\n");
+    assertThat(report).contains("# UNIT jscomp_pass_runtime_seconds seconds\n");
+    assertThat(report).contains("jscomp_pass_runtime_seconds_total{pass=\"pass\\\"A\"} 1.5\n");
+    assertThat(report)
+        .containsMatch("jscomp_pass_allocated_bytes_total\\{pass=\"pass\\\\\"A\"\\} \\d+\n");
+    assertThat(report).contains("jscomp_subtype_cache_hits_total 0\n");
+    assertThat(report).contains("jscomp_flow_scope_joins_total 0\n");
+    assertThat(report).contains("jscomp_string_pool_size 0\n");
+    assertThat(report).endsWith("# EOF\n");
+  }
+
   private static final String extractReport(PerformanceTracker tracker) {
     ByteArrayOutputStream output = new ByteArrayOutputStream();
     try (PrintStream outstream = new PrintStream(output)) {
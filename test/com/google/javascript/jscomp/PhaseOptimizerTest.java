@@ -18,6 +18,7 @@ package com.google.javascript.jscomp;
 
 import static com.google.common.truth.Truth.assertThat;
 import static com.google.common.truth.Truth.assertWithMessage;
+import static org.junit.Assert.assertThrows;
 
 import com.google.common.collect.ImmutableList;
 import com.google.javascript.jscomp.CompilerOptions.TracerMode;
@@ -26,6 +27,7 @@ import com.google.javascript.rhino.IR;
 import com.google.javascript.rhino.Node;
 import com.google.javascript.rhino.Token;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import org.junit.Before;
 import org.junit.Test;
@@ -35,6 +37,11 @@ import org.junit.runners.JUnit4;
 /** Tests for {@link PhaseOptimizer}. */
 @RunWith(JUnit4.class)
 public final class PhaseOptimizerTest {
+  private static final DiagnosticType REPORTED_SCRIPT =
+      DiagnosticType.warning("JSC_REPORTED_SCRIPT", "Reported script");
+  private static final DiagnosticType HALTING_ERROR =
+      DiagnosticType.error("JSC_HALTING_ERROR", "Halting error");
+
   private final List<String> passesRun = new ArrayList<>();
   private Node dummyRoot;
   Node dummyScript;
@@ -178,6 +185,116 @@ public final class PhaseOptimizerTest {
     }
   }
 
+  @Test
+  public void testScriptLocalPassRunsOverEachScriptInParallel() {
+    compiler.getOptions().setNumParallelThreads(4);
+    List<String> reportedScripts = new ArrayList<>();
+    compiler
+        .getOptions()
+        .setErrorHandler((level, error) -> reportedScripts.add(error.getSourceName()));
+    Node externs = IR.root(scriptNamed("e1.js"), scriptNamed("e2.js"));
+    Node root = IR.root(scriptNamed("a.js"), scriptNamed("b.js"), scriptNamed("c.js"));
+    List<String> scriptsSeen = Collections.synchronizedList(new ArrayList<>());
+    List<Node> externsSeen = Collections.synchronizedList(new ArrayList<>());
+    optimizer.addOneTimePass(
+        PassFactory.builder()
+            .setName("scriptLocal")
+            .setScriptLocal(true)
+            .setInternalFactory(
+                (compiler) ->
+                    (CompilerPass)
+                        (e, r) -> {
+                          externsSeen.add(e);
+                          scriptsSeen.add(r.getSourceFileName());
+                          compiler.report(JSError.make(r, REPORTED_SCRIPT));
+                        })
+            .build());
+
+    optimizer.process(externs, root);
+
+    assertThat(scriptsSeen).containsExactly("a.js", "b.js", "c.js");
+    assertThat(externsSeen).containsExactly(externs, externs, externs);
+    // Diagnostics are reported in script order, regardless of which thread finished first.
+    assertThat(reportedScripts).containsExactly("a.js", "b.js", "c.js").inOrder();
+  }
+
+  @Test
+  public void testScriptLocalPassInParallelStopsAtHaltingErrorLikeSequentialRun() {
+    compiler.getOptions().setNumParallelThreads(4);
+    List<String> reported = new ArrayList<>();
+    compiler
+        .getOptions()
+        .setErrorHandler(
+            (level, error) -> reported.add(error.getSourceName() + ":" + error.getType().key));
+    Node root = IR.root(scriptNamed("a.js"), scriptNamed("b.js"), scriptNamed("c.js"));
+    optimizer.addOneTimePass(
+        PassFactory.builder()
+            .setName("scriptLocal")
+            .setScriptLocal(true)
+            .setInternalFactory(
+                (compiler) ->
+                    (CompilerPass)
+                        (e, r) -> {
+                          if (compiler.hasHaltingErrors()) {
+                            return;
+                          }
+                          compiler.report(JSError.make(r, REPORTED_SCRIPT));
+                          if (r.getSourceFileName().equals("b.js")) {
+                            compiler.report(JSError.make(r, HALTING_ERROR));
+                          }
+                          // The error collected for b.js must stop it, as it would sequentially.
+                          if (!compiler.hasHaltingErrors()) {
+                            compiler.report(JSError.make(r, REPORTED_SCRIPT));
+                          }
+                        })
+            .build());
+
+    optimizer.process(IR.root(), root);
+
+    assertThat(reported)
+        .containsExactly(
+            "a.js:JSC_REPORTED_SCRIPT",
+            "a.js:JSC_REPORTED_SCRIPT",
+            "b.js:JSC_REPORTED_SCRIPT",
+            "b.js:JSC_HALTING_ERROR")
+        .inOrder();
+  }
+
+  @Test
+  public void testScriptLocalPassRunsOverWholeProgramWithoutParallelism() {
+    Node externs = IR.root(scriptNamed("e1.js"));
+    Node root = IR.root(scriptNamed("a.js"), scriptNamed("b.js"));
+    List<Node> rootsSeen = new ArrayList<>();
+    optimizer.addOneTimePass(
+        PassFactory.builder()
+            .setName("scriptLocal")
+            .setScriptLocal(true)
+            .setInternalFactory((compiler) -> (CompilerPass) (e, r) -> rootsSeen.add(r))
+            .build());
+
+    optimizer.process(externs, root);
+
+    assertThat(rootsSeen).containsExactly(root);
+  }
+
+  @Test
+  public void testScriptLocalPassCannotBeLooped() {
+    PassFactory.Builder builder =
+        PassFactory.builder()
+            .setName("x")
+            .setScriptLocal(true)
+            .setRunInFixedPointLoop(true)
+            .setInternalFactory((compiler) -> createPass("x", 0));
+
+    assertThrows(IllegalStateException.class, builder::build);
+  }
+
+  private static Node scriptNamed(String name) {
+    Node script = IR.script();
+    script.setSourceFileForTesting(name);
+    return script;
+  }
+
   public void assertPasses(String... names) {
     optimizer.process(null, dummyRoot);
     assertThat(passesRun).isEqualTo(ImmutableList.copyOf(names));
@@ -18,16 +18,19 @@ package com.google.javascript.jscomp;
 
 import static com.google.common.truth.Truth.assertThat;
 import static com.google.common.truth.extensions.proto.ProtoTruth.assertThat;
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.Assert.assertThrows;
 
 import com.google.common.collect.Iterables;
+import com.google.common.io.CharStreams;
 import com.google.common.io.MoreFiles;
 import com.google.javascript.jscomp.serialization.SourceFileProto;
 import com.google.javascript.rhino.StaticSourceFile.SourceKind;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.FileTime;
@@ -75,6 +78,20 @@ public final class SourceFileTest {
     testLineOffsetHelper((code) -> SourceFile.fromCode("test.js", code));
   }
 
+  @Test
+  public void testLineOffset_memoryMapped() {
+    testLineOffsetHelper(
+        (code) -> {
+          try {
+            Path path = Files.createTempFile(folder.getRoot().toPath(), "test", ".js");
+            Files.writeString(path, code, UTF_8);
+            return SourceFile.builder().withPath(path).withMemoryMapping(true).build();
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+  }
+
   private void testLineOffsetHelper(Function<String, SourceFile> factory) {
     SourceFile f0 = factory.apply("");
     assertThat(f0.getLineOfOffset(0)).isEqualTo(1);
@@ -290,6 +307,71 @@ public final class SourceFileTest {
     assertThat(actualContent).isEqualTo(expectedContent);
   }
 
+  @Test
+  public void testMemoryMappedFile() throws IOException {
+    // Includes a byte order mark, a two byte, a three byte and a four byte sequence.
+    String content = "var a = 'é';\nvar b = '€';\nvar c = '\uD83D\uDE00';\nvar d;\n";
+    Path tempFile = folder.newFile("test.js").toPath();
+    Files.writeString(tempFile, "\uFEFF" + content, UTF_8);
+
+    SourceFile newFile = SourceFile.builder().withPath(tempFile).withMemoryMapping(true).build();
+
+    assertThat(newFile.getLineOffset(2)).isEqualTo(content.indexOf("var b"));
+    assertThat(newFile.getLineOffset(3)).isEqualTo(content.indexOf("var c"));
+    assertThat(newFile.getLineOffset(4)).isEqualTo(content.indexOf("var d"));
+    assertThat(newFile.getLineOfOffset(content.indexOf("var d"))).isEqualTo(4);
+    assertThat(newFile.getNumLines()).isEqualTo(5);
+    // Line information doesn't require the code to be loaded.
+    assertThat(newFile.hasSourceInMemory()).isFalse();
+
+    assertThat(newFile.getCode()).isEqualTo(content);
+    assertThat(CharStreams.toString(newFile.getCodeReader())).isEqualTo(content);
+    assertThat(newFile.getLine(3)).isEqualTo("var c = '\uD83D\uDE00';");
+
+    newFile.clearCachedSource();
+    assertThat(newFile.hasSourceInMemory()).isFalse();
+    assertThat(newFile.getColumnOfOffset(content.indexOf("b ="))).isEqualTo(4);
+    assertThat(newFile.hasSourceInMemory()).isFalse();
+  }
+
+  @Test
+  public void testMemoryMappedFile_otherCharset() throws IOException {
+    String content = "var a = 'é';\nvar b;\n";
+    Path tempFile = folder.newFile("test.js").toPath();
+    Files.writeString(tempFile, content, ISO_8859_1);
+
+    SourceFile newFile =
+        SourceFile.builder()
+            .withPath(tempFile)
+            .withCharset(ISO_8859_1)
+            .withMemoryMapping(true)
+            .build();
+
+    assertThat(newFile.getLineOffset(2)).isEqualTo(content.indexOf("var b"));
+    assertThat(newFile.getCode()).isEqualTo(content);
+  }
+
+  @Test
+  public void testMemoryMappedFile_malformedInput() throws IOException {
+    Path tempFile = folder.newFile("test.js").toPath();
+    Files.write(tempFile, new byte[] {'v', 'a', 'r', ' ', (byte) 0xC3, ';'});
+
+    SourceFile newFile = SourceFile.builder().withPath(tempFile).withMemoryMapping(true).build();
+
+    assertThrows(IOException.class, newFile::getCode);
+  }
+
+  @Test
+  public void testMemoryMappedFile_replacementCharacter() throws IOException {
+    String content = "var a = '\uFFFD';\n";
+    Path tempFile = folder.newFile("test.js").toPath();
+    Files.writeString(tempFile, content, UTF_8);
+
+    SourceFile newFile = SourceFile.builder().withPath(tempFile).withMemoryMapping(true).build();
+
+    assertThat(newFile.getCode()).isEqualTo(content);
+  }
+
   @Test
   public void testDiskFileWithOriginalPath() throws IOException {
     String expectedContent = "var c;";
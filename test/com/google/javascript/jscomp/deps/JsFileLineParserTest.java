@@ -18,9 +18,12 @@ package com.google.javascript.jscomp.deps;
 
 import static com.google.common.truth.Truth.assertThat;
 
+import com.google.common.collect.ImmutableList;
 import com.google.javascript.jscomp.ErrorManager;
 import com.google.javascript.jscomp.PrintStreamErrorManager;
 import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
@@ -136,11 +139,32 @@ public final class JsFileLineParserTest {
     assertBlocks("/** first *//** * second */", "/** first */\n/**\n * second\n */");
   }
 
+  @Test
+  public void testStringIsSplitIntoLinesLikeReader() {
+    for (String input :
+        ImmutableList.of(
+            "", "\n", "1", "1\n", "1\n\n", "1\n2", "1\r2", "1\r\n2", "1\n\r2",
+            "1\r\r\n\n2\r")) {
+      ErrorManager errorManager = new PrintStreamErrorManager(System.err);
+      TestParser fromString = new TestParser(errorManager);
+      fromString.doParse("file", input);
+      TestParser fromReader = new TestParser(errorManager);
+      fromReader.doParse("file", new StringReader(input));
+
+      assertThat(fromString.lines).isEqualTo(fromReader.lines);
+      assertThat(fromString.lineNum).isEqualTo(fromReader.lineNum);
+    }
+  }
+
   private void assertStrip(String expected, String input) {
     ErrorManager errorManager = new PrintStreamErrorManager(System.err);
     TestParser parser = new TestParser(errorManager);
     parser.doParse("file", new StringReader(input));
     assertThat(parser.toString()).isEqualTo(expected);
+
+    parser = new TestParser(errorManager);
+    parser.doParse("file", input);
+    assertThat(parser.toString()).isEqualTo(expected);
   }
 
   private void assertBlocks(String expected, String input) {
@@ -148,11 +172,16 @@ public final class JsFileLineParserTest {
     TestParser parser = new TestParser(errorManager);
     parser.doParse("file", new StringReader(input));
     assertThat(parser.comments.toString()).isEqualTo(expected);
+
+    parser = new TestParser(errorManager);
+    parser.doParse("file", input);
+    assertThat(parser.comments.toString()).isEqualTo(expected);
   }
 
   private static class TestParser extends JsFileLineParser {
     final StringBuilder sb = new StringBuilder();
     final StringBuilder comments = new StringBuilder();
+    final List<String> lines = new ArrayList<>();
 
     TestParser(ErrorManager errorManager) {
       super(errorManager);
@@ -161,6 +190,7 @@ public final class JsFileLineParserTest {
     @Override
     boolean parseLine(String line) {
       sb.append(line);
+      lines.add(lineNum + ":" + line);
       return true;
     }
 
@@ -179,6 +179,58 @@ public final class GraphColoringTest {
     assertThat("A".equals(coloring.getPartitionSuperNode("C"))).isFalse();
   }
 
+  @Test
+  public void testBitMatrixGraph_colorsLikeLinkedGraph() {
+    // Connect the nodes of a 40 node graph by a fixed, irregular rule.
+    int count = 40;
+    Graph<String, String> linked = LinkedUndirectedGraph.create();
+    BitMatrixGraph<String> matrix = BitMatrixGraph.create(count);
+    for (int i = 0; i < count; i++) {
+      linked.createNode("Node " + i);
+      matrix.createNode("Node " + i);
+    }
+    for (int i = 0; i < count; i++) {
+      for (int j = i + 1; j < count; j++) {
+        if ((i * 7 + j * 13) % 5 == 0) {
+          linked.connect("Node " + i, "-", "Node " + j);
+          matrix.connect("Node " + i, "Node " + j);
+        }
+      }
+    }
+
+    GraphColoring<String, String> linkedColoring =
+        new GreedyGraphColoring<>(linked, naturalOrder());
+    GraphColoring<String, Void> matrixColoring = new GreedyGraphColoring<>(matrix, naturalOrder());
+
+    assertThat(matrixColoring.color()).isEqualTo(linkedColoring.color());
+    validateColoring(linked);
+    for (int i = 0; i < count; i++) {
+      assertThat(matrixColoring.getPartitionSuperNode("Node " + i))
+          .isEqualTo(linkedColoring.getPartitionSuperNode("Node " + i));
+    }
+  }
+
+  @Test
+  public void testBitMatrixGraph_loopsAndRepeatedEdges() {
+    BitMatrixGraph<String> graph = BitMatrixGraph.create(3);
+    graph.createNode("A");
+    graph.createNode("B");
+    graph.createNode("C");
+    graph.connect("A", "B");
+    graph.connect("B", "A");
+    graph.connect("C", "C");
+
+    assertThat(graph.isConnected("A", "B")).isTrue();
+    assertThat(graph.isConnected("A", "C")).isFalse();
+    assertThat(graph.getWeight("A")).isEqualTo(1);
+    assertThat(graph.getWeight("C")).isEqualTo(2);
+
+    GraphColoring<String, Void> coloring = new GreedyGraphColoring<>(graph, naturalOrder());
+    assertThat(coloring.color()).isEqualTo(2);
+    assertThat(coloring.haveSameColor("A", "B")).isFalse();
+    assertThat(coloring.haveSameColor("A", "C")).isTrue();
+  }
+
   /** Validate that each node has been colored and connected nodes have different coloring. */
   private static <N, E> void validateColoring(Graph<N, E> graph) {
     for (GraphNode<N, E> node : graph.getNodes()) {
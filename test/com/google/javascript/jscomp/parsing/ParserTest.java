@@ -630,6 +630,19 @@ public final class ParserTest extends BaseJSTypeTestCase {
     assertNode(assign).hasCharno(1);
   }
 
+  @Test
+  public void testLinenoCharnoAfterComments() {
+    Node name = parse("/* a\r\n b */\r\n  x;").getFirstFirstChild();
+
+    assertNode(name).hasLineno(3);
+    assertNode(name).hasCharno(2);
+
+    name = parse("// a\u2028  x;").getFirstFirstChild();
+
+    assertNode(name).hasLineno(2);
+    assertNode(name).hasCharno(2);
+  }
+
   @Test
   public void testLinenoCharnoCall() {
     Node call = parse("\n foo(123);").getFirstFirstChild();
@@ -3743,6 +3756,64 @@ public final class ParserTest extends BaseJSTypeTestCase {
     assertThat(n.getFirstChild().getJSDocInfo().isConstructor()).isTrue();
   }
 
+  @Test
+  public void testDeferredJSDoc_parsedWhenRequested() {
+    isIdeMode = true;
+    parsingMode = JsDocParsing.TYPES_ONLY_DEFERRED;
+
+    Node varNode = parse("/** @type {number} */var a;").getFirstChild();
+
+    assertNodeHasJSDocInfoWithJSType(varNode, NUMBER_TYPE);
+  }
+
+  @Test
+  public void testDeferredJSDoc_reportsWarningsOnceWhenRequested() {
+    isIdeMode = true;
+    parsingMode = JsDocParsing.TYPES_ONLY_DEFERRED;
+    TestErrorReporter testErrorReporter = new TestErrorReporter();
+    StaticSourceFile file = new SimpleSourceFile("input", SourceKind.STRONG);
+
+    Node varNode =
+        ParserRunner.parse(
+                file, "/** @type {Array.<number}*/var a = [1,2]", createConfig(), testErrorReporter)
+            .ast
+            .getFirstChild();
+    testErrorReporter.verifyHasEncounteredAllWarningsAndErrors();
+
+    varNode.getJSDocInfo();
+    varNode.cloneNode().getJSDocInfo();
+    testErrorReporter.expectAllWarnings(MISSING_GT_MESSAGE);
+    testErrorReporter.verifyHasEncounteredAllWarningsAndErrors();
+  }
+
+  @Test
+  public void testDeferredJSDoc_printingNodeDoesNotParse() {
+    isIdeMode = true;
+    parsingMode = JsDocParsing.TYPES_ONLY_DEFERRED;
+    TestErrorReporter testErrorReporter = new TestErrorReporter();
+    StaticSourceFile file = new SimpleSourceFile("input", SourceKind.STRONG);
+
+    Node varNode =
+        ParserRunner.parse(
+                file, "/** @type {Array.<number}*/var a = [1,2]", createConfig(), testErrorReporter)
+            .ast
+            .getFirstChild();
+
+    assertThat(varNode.toString(false, true, false)).contains("<unparsed JSDoc>");
+    testErrorReporter.verifyHasEncounteredAllWarningsAndErrors();
+  }
+
+  @Test
+  public void testDeferredJSDoc_fileOverviewIsParsedRightAway() {
+    isIdeMode = true;
+    parsingMode = JsDocParsing.TYPES_ONLY_DEFERRED;
+
+    Node n = parse("/** @fileoverview @externs */ /** @constructor */ function Foo() {}");
+
+    assertThat(n.getJSDocInfo().isExterns()).isTrue();
+    assertThat(n.getFirstChild().getJSDocInfo().isConstructor()).isTrue();
+  }
+
   @Test
   public void testFileoverview_firstOneWins() {
     isIdeMode = true;
@@ -4923,6 +4994,21 @@ public final class ParserTest extends BaseJSTypeTestCase {
     parse("if(true){foo=Δ}else bar()");
   }
 
+  @Test
+  public void testIdentifierMixingAsciiAndOtherCharacters() {
+    Node name = parse("var abcàdef, abc\\u0064ef;").getFirstChild().getFirstChild();
+
+    assertNode(name).hasStringThat().isEqualTo("abcàdef");
+    assertNode(name.getNext()).hasStringThat().isEqualTo("abcdef");
+  }
+
+  @Test
+  public void testStringLiteralMixingAsciiAndOtherCharacters() {
+    Node string = parse("'abc\\n\"déf\\'ghi';").getFirstFirstChild();
+
+    assertNode(string).isString("abc\n\"déf'ghi");
+  }
+
   @Test
   public void testUnicodeEscapeInIdentifiers() {
     parse("var \\u00fb");
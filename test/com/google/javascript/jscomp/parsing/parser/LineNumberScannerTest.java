@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 The Closure Compiler Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.javascript.jscomp.parsing.parser;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.javascript.jscomp.parsing.parser.util.SourcePosition;
+import com.google.javascript.jscomp.parsing.parser.util.SourceRange;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests for {@link LineNumberScanner}. */
+@RunWith(JUnit4.class)
+public final class LineNumberScannerTest {
+
+  @Test
+  public void testAdjacentRangesShareTheirBoundary() {
+    LineNumberScanner scanner = new LineNumberScanner(new SourceFile("a.js", "a.b(c);"));
+
+    SourceRange a = scanner.getSourceRange(0, 1);
+    SourceRange dot = scanner.getSourceRange(1, 2);
+
+    assertThat(dot.start).isSameInstanceAs(a.end);
+    assertThat(dot.start.offset).isEqualTo(1);
+    assertThat(dot.end.offset).isEqualTo(2);
+  }
+
+  @Test
+  public void testLinesAndColumns() {
+    LineNumberScanner scanner = new LineNumberScanner(new SourceFile("a.js", "a;\r\nb;\u2028c;"));
+
+    assertPosition(scanner.getSourcePosition(1), 0, 1);
+    assertPosition(scanner.getSourcePosition(4), 1, 0);
+    assertPosition(scanner.getSourcePosition(4), 1, 0);
+    assertPosition(scanner.getSourcePosition(8), 2, 1);
+  }
+
+  @Test
+  public void testRewindTo() {
+    LineNumberScanner scanner = new LineNumberScanner(new SourceFile("a.js", "a;\nb;\nc;"));
+    SourcePosition b = scanner.getSourcePosition(3);
+    assertPosition(scanner.getSourcePosition(6), 2, 0);
+
+    scanner.rewindTo(b);
+
+    assertPosition(scanner.getSourcePosition(3), 1, 0);
+    assertPosition(scanner.getSourcePosition(4), 1, 1);
+    assertPosition(scanner.getSourcePosition(6), 2, 0);
+  }
+
+  private static void assertPosition(SourcePosition position, int line, int column) {
+    assertThat(position.line).isEqualTo(line);
+    assertThat(position.column).isEqualTo(column);
+  }
+}
@@ -0,0 +1,224 @@
+/*
+ *
+ * ***** BEGIN LICENSE BLOCK *****
+ * Version: MPL 1.1/GPL 2.0
+ *
+ * The contents of this file are subject to the Mozilla Public License Version
+ * 1.1 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * http://www.mozilla.org/MPL/
+ *
+ * Software distributed under the License is distributed on an "AS IS" basis,
+ * WITHOUT WARRANTY OF ANY KIND, either express or implied. See the License
+ * for the specific language governing rights and limitations under the
+ * License.
+ *
+ * The Original Code is Rhino code, released
+ * May 6, 1999.
+ *
+ * The Initial Developer of the Original Code is
+ * Netscape Communications Corporation.
+ * Portions created by the Initial Developer are Copyright (C) 1997-1999
+ * the Initial Developer. All Rights Reserved.
+ *
+ * Contributor(s):
+ *   Google Inc.
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * the GNU General Public License Version 2 or later (the "GPL"), in which
+ * case the provisions of the GPL are applicable instead of those above. If
+ * you wish to allow use of your version of this file only under the terms of
+ * the GPL and not to allow others to use your version of this file under the
+ * MPL, indicate your decision by deleting the provisions above and replacing
+ * them with the notice and other provisions required by the GPL. If you do
+ * not delete the provisions above, a recipient may use your version of this
+ * file under either the MPL or the GPL.
+ *
+ * ***** END LICENSE BLOCK ***** */
+
+package com.google.javascript.rhino;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.javascript.rhino.testing.NodeSubject.assertNode;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public final class AstArenaTest {
+
+  private static final StaticSourceFile SOURCE_FILE =
+      new SimpleSourceFile("a.js", StaticSourceFile.SourceKind.STRONG);
+
+  @Test
+  @SuppressWarnings("deprecation") // getOriginalName
+  public void testRoundTrip() {
+    Node root = createTree();
+
+    Node copy = AstArena.fromTree(root).toTree();
+
+    assertNode(copy).isEquivalentTo(root);
+    assertThat(copy.getFirstChild().getJSDocInfo())
+        .isSameInstanceAs(root.getFirstChild().getJSDocInfo());
+    Node name = copy.getFirstChild().getFirstChild();
+    assertThat(name.getLineno()).isEqualTo(3);
+    assertThat(name.getCharno()).isEqualTo(4);
+    assertThat(name.getLength()).isEqualTo(1);
+    assertThat(name.getOriginalName()).isEqualTo("original");
+    assertThat(name.getSourceFileName()).isEqualTo("a.js");
+    assertThat(name.getBooleanProp(Node.IS_CONSTANT_NAME)).isTrue();
+  }
+
+  @Test
+  public void testAccessors() {
+    AstArena arena = AstArena.fromTree(createTree());
+
+    assertThat(arena.size()).isEqualTo(11);
+    assertThat(arena.getToken(AstArena.ROOT)).isEqualTo(Token.SCRIPT);
+    assertThat(arena.getParent(AstArena.ROOT)).isEqualTo(AstArena.NONE);
+    assertThat(arena.getChildCount(AstArena.ROOT)).isEqualTo(3);
+
+    int var = arena.getFirstChild(AstArena.ROOT);
+    assertThat(arena.getToken(var)).isEqualTo(Token.VAR);
+    assertThat(arena.getJSDocInfo(var)).isNotNull();
+    int name = arena.getFirstChild(var);
+    assertThat(arena.getString(name)).isEqualTo("x");
+    assertThat(arena.getLineno(name)).isEqualTo(3);
+    assertThat(arena.getCharno(name)).isEqualTo(4);
+    assertThat(arena.getOriginalName(name)).isEqualTo("original");
+    assertThat(arena.getSourceFileName(name)).isEqualTo("a.js");
+    assertThat(arena.getDouble(arena.getFirstChild(name))).isEqualTo(1.0);
+
+    int exprResult = arena.getNext(var);
+    int call = arena.getFirstChild(exprResult);
+    assertThat(arena.getParent(call)).isEqualTo(exprResult);
+    assertThat(arena.getBigInt(arena.getNext(arena.getFirstChild(call))))
+        .isEqualTo(BigInteger.TEN);
+    int template = arena.getFirstChild(arena.getFirstChild(arena.getNext(exprResult)));
+    assertThat(arena.getRawString(template)).isEqualTo("\\n");
+    assertThat(arena.getCookedString(template)).isEqualTo("\n");
+    assertThat(arena.getNext(arena.getNext(exprResult))).isEqualTo(AstArena.NONE);
+  }
+
+  @Test
+  public void testTraversalOrder() {
+    Node root = createTree();
+    List<String> expected = new ArrayList<>();
+    collectPostOrder(root, expected);
+
+    List<String> visited = new ArrayList<>();
+    AstArena.fromTree(root)
+        .traverse(
+            new AstArena.Callback() {
+              @Override
+              public boolean shouldTraverse(AstArena arena, int node, int parent) {
+                return true;
+              }
+
+              @Override
+              public void visit(AstArena arena, int node, int parent) {
+                visited.add(arena.getToken(node).toString());
+              }
+            });
+
+    assertThat(visited).containsExactlyElementsIn(expected).inOrder();
+  }
+
+  @Test
+  public void testTraversalSkipsPrunedSubtrees() {
+    List<Token> visited = new ArrayList<>();
+    AstArena.fromTree(createTree())
+        .traverse(
+            new AstArena.Callback() {
+              @Override
+              public boolean shouldTraverse(AstArena arena, int node, int parent) {
+                return arena.getToken(node) != Token.EXPR_RESULT;
+              }
+
+              @Override
+              public void visit(AstArena arena, int node, int parent) {
+                visited.add(arena.getToken(node));
+              }
+            });
+
+    assertThat(visited)
+        .containsExactly(Token.NUMBER, Token.NAME, Token.VAR, Token.SCRIPT)
+        .inOrder();
+  }
+
+  @Test
+  public void testDeepTree() {
+    Node root = IR.name("x");
+    for (int i = 0; i < 100_000; i++) {
+      root = IR.not(root);
+    }
+    AstArena arena = AstArena.fromTree(root);
+    int[] count = {0};
+    arena.traverse(
+        new AstArena.Callback() {
+          @Override
+          public boolean shouldTraverse(AstArena arena, int node, int parent) {
+            return true;
+          }
+
+          @Override
+          public void visit(AstArena arena, int node, int parent) {
+            count[0]++;
+          }
+        });
+
+    assertThat(count[0]).isEqualTo(100_001);
+    assertThat(arena.toTree().getToken()).isEqualTo(Token.NOT);
+  }
+
+  /**
+   * Creates:
+   *
+   * <pre>
+   * /** @const *\/ var x = 1;
+   * f(10n);
+   * `\n`;
+   * </pre>
+   */
+  private static Node createTree() {
+    Node name = IR.name("x");
+    name.setLinenoCharno(3, 4);
+    name.setLength(1);
+    name.setOriginalName("original");
+    name.putBooleanProp(Node.IS_CONSTANT_NAME, true);
+    Node var = IR.var(name, IR.number(1));
+    JSDocInfo.Builder info = JSDocInfo.builder();
+    info.recordConstancy();
+    var.setJSDocInfo(info.build());
+
+    Node call = IR.call(IR.name("f"), Node.newBigInt(BigInteger.TEN));
+    Node template = new Node(Token.TEMPLATELIT, Node.newTemplateLitString("\n", "\\n"));
+
+    Node script = IR.script(var, IR.exprResult(call), IR.exprResult(template));
+    for (Node n = script; n != null; n = nextInPreOrder(n, script)) {
+      n.setStaticSourceFile(SOURCE_FILE);
+    }
+    return script;
+  }
+
+  private static Node nextInPreOrder(Node n, Node root) {
+    if (n.hasChildren()) {
+      return n.getFirstChild();
+    }
+    while (n != root && n.getNext() == null) {
+      n = n.getParent();
+    }
+    return n == root ? null : n.getNext();
+  }
+
+  private static void collectPostOrder(Node n, List<String> tokens) {
+    for (Node child = n.getFirstChild(); child != null; child = child.getNext()) {
+      collectPostOrder(child, tokens);
+    }
+    tokens.add(n.getToken().toString());
+  }
+}
@@ -643,7 +643,7 @@ public class NodeTest {
     n.setSideEffectFlags(5);
     Node m = new Node(Token.TRUE);
     m.clonePropsFrom(n);
-    assertThat(n.getPropListHeadForTesting()).isEqualTo(m.getPropListHeadForTesting());
+    assertThat(n.sharesPropsWithForTesting(m)).isTrue();
     assertThat(n.getSideEffectFlags()).isEqualTo(5);
     assertThat(m.getSideEffectFlags()).isEqualTo(5);
   }
@@ -658,7 +658,7 @@ public class NodeTest {
     n.setSideEffectFlags(6);
     assertThat(n.getSideEffectFlags()).isEqualTo(6);
     assertThat(m.getSideEffectFlags()).isEqualTo(5);
-    assertThat(m.getPropListHeadForTesting() == n.getPropListHeadForTesting()).isFalse();
+    assertThat(m.sharesPropsWithForTesting(n)).isFalse();
 
     m.setSideEffectFlags(7);
     assertThat(n.getSideEffectFlags()).isEqualTo(6);
@@ -684,20 +684,70 @@ public class NodeTest {
 
     n.putBooleanProp(Node.IS_CONSTANT_NAME, false);
 
-    assertThat(n.lookupProperty(Node.IS_CONSTANT_NAME)).isNull();
+    assertThat(n.hasProp(Node.IS_CONSTANT_NAME)).isFalse();
     assertThat(n.getBooleanProp(Node.IS_CONSTANT_NAME)).isFalse();
 
     n.putBooleanProp(Node.IS_CONSTANT_NAME, true);
 
-    assertThat(n.lookupProperty(Node.IS_CONSTANT_NAME)).isNotNull();
+    assertThat(n.hasProp(Node.IS_CONSTANT_NAME)).isTrue();
     assertThat(n.getBooleanProp(Node.IS_CONSTANT_NAME)).isTrue();
 
     n.putBooleanProp(Node.IS_CONSTANT_NAME, false);
 
-    assertThat(n.lookupProperty(Node.IS_CONSTANT_NAME)).isNull();
+    assertThat(n.hasProp(Node.IS_CONSTANT_NAME)).isFalse();
     assertThat(n.getBooleanProp(Node.IS_CONSTANT_NAME)).isFalse();
   }
 
+  @Test
+  public void testIntProp() {
+    Node n = getCall("A");
+
+    n.setChangeTime(1);
+    assertThat(n.getChangeTime()).isEqualTo(1);
+    n.setChangeTime(6);
+    assertThat(n.getChangeTime()).isEqualTo(6);
+    n.setChangeTime(1);
+    assertThat(n.getChangeTime()).isEqualTo(1);
+    n.setChangeTime(0);
+    assertThat(n.getChangeTime()).isEqualTo(0);
+    assertThat(n.hasProp(Node.Prop.CHANGE_TIME)).isFalse();
+  }
+
+  @Test
+  public void testObjectProp() {
+    Node n = getVarRef("a");
+    n.setSourceFileForTesting("a.js");
+    n.putBooleanProp(Node.IS_CONSTANT_NAME, true);
+    JSDocInfo info = JSDocInfo.builder().build();
+
+    n.setJSDocInfo(info);
+    assertThat(n.getJSDocInfo()).isSameInstanceAs(info);
+    assertThat(n.getSourceFileName()).isEqualTo("a.js");
+    assertThat(n.getBooleanProp(Node.IS_CONSTANT_NAME)).isTrue();
+
+    n.setJSDocInfo(null);
+    assertThat(n.getJSDocInfo()).isNull();
+    assertThat(n.hasProp(Node.Prop.JSDOC_INFO)).isFalse();
+    assertThat(n.getSourceFileName()).isEqualTo("a.js");
+  }
+
+  @Test
+  public void testSetStaticSourceFileFromSharesProps() {
+    Node template = new Node(Token.SCRIPT);
+    template.setSourceFileForTesting("a.js");
+    Node n = getVarRef("a");
+    n.putBooleanProp(Node.IS_CONSTANT_NAME, true);
+
+    n.setStaticSourceFileFrom(template);
+
+    assertThat(n.getStaticSourceFile()).isSameInstanceAs(template.getStaticSourceFile());
+    assertThat(n.getBooleanProp(Node.IS_CONSTANT_NAME)).isTrue();
+
+    // Setting another prop on one node doesn't affect the other.
+    n.setJSDocInfo(JSDocInfo.builder().build());
+    assertThat(template.getJSDocInfo()).isNull();
+  }
+
   // Verify that annotations on cloned nodes are properly handled.
   @Test
   public void testCloneAnnontations2() {
@@ -45,6 +45,8 @@ import com.google.common.collect.ImmutableList;
 import com.google.javascript.rhino.RhinoStringPool.LazyInternedStringList;
 import com.google.javascript.rhino.RhinoStringPool.WriteOnlyBitset;
 import java.util.ArrayList;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
@@ -72,6 +74,66 @@ public final class RhinoStringPoolTest {
     }
   }
 
+  @Test
+  public void countsLookupsAndHits() {
+    long lookups = RhinoStringPool.getLookupCount();
+    long hits = RhinoStringPool.getHitCount();
+
+    String first = RhinoStringPool.addOrGet(new String("countsLookupsAndHits"));
+    RhinoStringPool.addOrGet(new String("countsLookupsAndHits"));
+
+    assertThat(RhinoStringPool.getLookupCount() - lookups).isEqualTo(2);
+    assertThat(RhinoStringPool.getHitCount() - hits).isEqualTo(1);
+    assertThat(RhinoStringPool.size()).isGreaterThan(0);
+    assertThat(first).isEqualTo("countsLookupsAndHits");
+  }
+
+  @Test
+  public void manyStringsCanBeAdded() {
+    ArrayList<String> pooled = new ArrayList<>();
+    for (int i = 0; i < 100000; i++) {
+      pooled.add(RhinoStringPool.addOrGet("many" + i));
+    }
+    for (int i = 0; i < 100000; i++) {
+      assertThat(RhinoStringPool.addOrGet("many" + i)).isSameInstanceAs(pooled.get(i));
+    }
+  }
+
+  @Test
+  public void concurrentCallsReturnSameInstance() throws Exception {
+    int threadCount = 4;
+    int stringCount = 10000;
+    String[][] results = new String[threadCount][stringCount];
+    CyclicBarrier barrier = new CyclicBarrier(threadCount);
+    ArrayList<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < threadCount; t++) {
+      String[] result = results[t];
+      Thread thread =
+          new Thread(
+              () -> {
+                try {
+                  barrier.await();
+                } catch (InterruptedException | BrokenBarrierException e) {
+                  throw new AssertionError(e);
+                }
+                for (int i = 0; i < stringCount; i++) {
+                  result[i] = RhinoStringPool.addOrGet("concurrent" + i);
+                }
+              });
+      thread.start();
+      threads.add(thread);
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    for (int t = 1; t < threadCount; t++) {
+      for (int i = 0; i < stringCount; i++) {
+        assertThat(results[t][i]).isSameInstanceAs(results[0][i]);
+      }
+    }
+  }
+
   @Test
   public void lazyInternedStringList_outOfBounds_throwsException() {
     LazyInternedStringList list = new LazyInternedStringList(ImmutableList.of("foo"));
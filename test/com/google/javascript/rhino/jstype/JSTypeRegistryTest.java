@@ -40,6 +40,7 @@ package com.google.javascript.rhino.jstype;
 
 import static com.google.common.truth.Truth.assertThat;
 import static com.google.javascript.rhino.jstype.JSTypeNative.ALL_TYPE;
+import static com.google.javascript.rhino.jstype.JSTypeNative.ARRAY_TYPE;
 import static com.google.javascript.rhino.jstype.JSTypeNative.ASYNC_GENERATOR_TYPE;
 import static com.google.javascript.rhino.jstype.JSTypeNative.ASYNC_ITERABLE_TYPE;
 import static com.google.javascript.rhino.jstype.JSTypeNative.ASYNC_ITERATOR_TYPE;
@@ -92,6 +93,136 @@ public class JSTypeRegistryTest {
     JSTypeResolver.Closer unused = registry.getResolver().openForDefinition();
   }
 
+  @Test
+  public void testCreateTemplatizedType_isInternedOnceResolved() {
+    JSTypeRegistry closedRegistry = new JSTypeRegistry(null, null);
+    ObjectType array = closedRegistry.getNativeObjectType(JSTypeNative.ARRAY_TYPE);
+    JSType number = closedRegistry.getNativeType(NUMBER_TYPE);
+    JSType string = closedRegistry.getNativeType(STRING_TYPE);
+
+    TemplatizedType arrayOfNumber = closedRegistry.createTemplatizedType(array, number);
+
+    assertThat(closedRegistry.createTemplatizedType(array, number))
+        .isSameInstanceAs(arrayOfNumber);
+    assertThat(closedRegistry.createTemplatizedType(array, string))
+        .isNotSameInstanceAs(arrayOfNumber);
+  }
+
+  @Test
+  @SuppressWarnings("MustBeClosedChecker")
+  public void testCreateTemplatizedType_propertyDefinedThroughInternedTypeIsSeenByOtherUses() {
+    JSTypeRegistry closedRegistry = new JSTypeRegistry(null, null);
+    ObjectType array = closedRegistry.getNativeObjectType(JSTypeNative.ARRAY_TYPE);
+    JSType number = closedRegistry.getNativeType(NUMBER_TYPE);
+    JSType string = closedRegistry.getNativeType(STRING_TYPE);
+    JSTypeResolver.Closer closer = closedRegistry.getResolver().openForDefinition();
+    TemplatizedType notInterned = closedRegistry.createTemplatizedType(array, number);
+    closer.close();
+    TemplatizedType interned = closedRegistry.createTemplatizedType(array, number);
+    JSType record =
+        new RecordTypeBuilder(closedRegistry).addProperty("extra", string, null).build();
+
+    assertThat(interned.isSubtypeOf(record)).isFalse();
+    closedRegistry
+        .createTemplatizedType(array, number)
+        .defineDeclaredProperty("extra", string, null);
+
+    // Another use of the same interned instance sees the property exactly as a distinct instance
+    // does, and no cached subtyping result from before the definition is reused.
+    assertType(interned.getPropertyType("extra")).isEqualTo(string);
+    assertType(notInterned.getPropertyType("extra")).isEqualTo(string);
+    assertThat(interned.isSubtypeOf(record)).isTrue();
+    assertThat(notInterned.isSubtypeOf(record)).isTrue();
+  }
+
+  @Test
+  public void testCreateTemplatizedType_isNotInternedWhileOpenForDefinition() {
+    ObjectType array = registry.getNativeObjectType(JSTypeNative.ARRAY_TYPE);
+    JSType number = registry.getNativeType(NUMBER_TYPE);
+
+    assertThat(registry.createTemplatizedType(array, number))
+        .isNotSameInstanceAs(registry.createTemplatizedType(array, number));
+  }
+
+  @Test
+  public void testCreateUnionType_isInternedOnceResolved() {
+    JSTypeRegistry closedRegistry = new JSTypeRegistry(null, null);
+    JSType number = closedRegistry.getNativeType(NUMBER_TYPE);
+    JSType string = closedRegistry.getNativeType(STRING_TYPE);
+    JSType bool = closedRegistry.getNativeType(BOOLEAN_TYPE);
+
+    JSType numberOrString = closedRegistry.createUnionType(number, string);
+
+    assertThat(closedRegistry.createUnionType(number, string)).isSameInstanceAs(numberOrString);
+    assertThat(closedRegistry.createUnionType(number, string, bool))
+        .isNotSameInstanceAs(numberOrString);
+  }
+
+  @Test
+  public void testIsSubtype_resultIsCachedOnceResolved() {
+    JSTypeRegistry closedRegistry = new JSTypeRegistry(null, null);
+    JSType number = closedRegistry.getNativeType(NUMBER_TYPE);
+    JSType numberOrString =
+        closedRegistry.createUnionType(number, closedRegistry.getNativeType(STRING_TYPE));
+
+    long misses = closedRegistry.getSubtypeCacheMissCount();
+    long hits = closedRegistry.getSubtypeCacheHitCount();
+
+    assertThat(number.isSubtypeOf(numberOrString)).isTrue();
+    assertThat(number.isSubtypeOf(numberOrString)).isTrue();
+
+    assertThat(closedRegistry.getSubtypeCacheMissCount()).isEqualTo(misses + 1);
+    assertThat(closedRegistry.getSubtypeCacheHitCount()).isEqualTo(hits + 1);
+  }
+
+  @Test
+  public void testIsSubtype_cacheIsInvalidatedByDefiningAProperty() {
+    JSTypeRegistry closedRegistry = new JSTypeRegistry(null, null);
+    JSType number = closedRegistry.getNativeType(NUMBER_TYPE);
+    JSType record = new RecordTypeBuilder(closedRegistry).addProperty("a", number, null).build();
+    ObjectType object = closedRegistry.createAnonymousObjectType(null);
+
+    assertThat(object.isSubtypeOf(record)).isFalse();
+    object.defineDeclaredProperty("a", number, null);
+
+    assertThat(object.isSubtypeOf(record)).isTrue();
+  }
+
+  @Test
+  public void testIsSubtype_cacheIsInvalidatedByMergingSupertypeTemplateTypes() {
+    JSTypeRegistry closedRegistry = new JSTypeRegistry(null, null);
+    ObjectType object = closedRegistry.createAnonymousObjectType(null);
+    JSType allType = closedRegistry.getNativeType(ALL_TYPE);
+
+    assertThat(object.isSubtypeOf(allType)).isTrue();
+    long misses = closedRegistry.getSubtypeCacheMissCount();
+    object.mergeSupertypeTemplateTypes(closedRegistry.getNativeObjectType(ARRAY_TYPE));
+
+    assertThat(object.isSubtypeOf(allType)).isTrue();
+    assertThat(closedRegistry.getSubtypeCacheMissCount()).isEqualTo(misses + 1);
+  }
+
+  @Test
+  @SuppressWarnings("MustBeClosedChecker")
+  public void testIsSubtype_cacheIsInvalidatedByLooseningTypechecking() {
+    JSTypeRegistry closedRegistry = new JSTypeRegistry(null, null);
+    ObjectType object = closedRegistry.createAnonymousObjectType(null);
+    JSType allType = closedRegistry.getNativeType(ALL_TYPE);
+    ObjectType loosened = closedRegistry.createAnonymousObjectType(null);
+    JSTypeResolver.Closer closer = closedRegistry.getResolver().openForDefinition();
+    loosened.maybeLoosenTypecheckingDueToForwardReferencedSupertype(
+        closedRegistry.createNamedType(null, "Missing", "src", -1, -1));
+    closer.close();
+
+    assertThat(object.isSubtypeOf(allType)).isTrue();
+    long misses = closedRegistry.getSubtypeCacheMissCount();
+    object.maybeLoosenTypecheckingDueToForwardReferencedSupertype(loosened);
+
+    assertThat(object.loosenTypecheckingDueToForwardReferencedSupertype()).isTrue();
+    assertThat(object.isSubtypeOf(allType)).isTrue();
+    assertThat(closedRegistry.getSubtypeCacheMissCount()).isEqualTo(misses + 1);
+  }
+
   @Test
   public void testGetBuiltInType_boolean() {
     assertType(registry.getType(null, "boolean"))
@@ -270,6 +270,27 @@ public class UnionTypeBuilderTest extends BaseJSTypeTestCase {
     assertType(result).isEqualTo(arrayOfUnknown);
   }
 
+  @Test
+  public void testReaddingAlternates_doesNotCheckSubtyping() {
+    JSType union = registry.createUnionType(base, NUMBER_TYPE, NULL_TYPE, STRING_TYPE);
+    long misses = registry.getSubtypeCacheMissCount();
+
+    UnionType.Builder builder = UnionType.builder(registry).addAlternate(union);
+    long missesAfterFirstAdd = registry.getSubtypeCacheMissCount();
+    builder.addAlternate(union);
+
+    assertThat(builder.build().toString()).isEqualTo("(Base|null|number|string)");
+    assertThat(missesAfterFirstAdd).isEqualTo(misses);
+    assertThat(registry.getSubtypeCacheMissCount()).isEqualTo(misses);
+  }
+
+  @Test
+  public void testPrimitivesAndObjects_keepSubtypeNormalization() {
+    assertUnion("(Base|null|number)", NULL_TYPE, sub, NUMBER_TYPE, base);
+    assertUnion("(Base|null|number)", base, NUMBER_TYPE, NULL_TYPE, sub);
+    assertUnion("(Object|number)", base, NUMBER_TYPE, OBJECT_TYPE);
+  }
+
   @Test
   public void testAfterBuild_cannotRebuild() {
     UnionType.Builder builder = UnionType.builder(registry);